@@ -0,0 +1,52 @@
+package com.example.account_transfer_api.cluster;
+
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-JVM striped locks for accounts owned by this node, guarding their entries in {@link OwnedAccountLedger}.
+ * Transfers on the same accounts queue here instead of on database row locks, so waiting requests do not
+ * hold a connection.
+ */
+@Component
+public class AccountLockStripes {
+
+    private static final int STRIPES = 1024;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public AccountLockStripes() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Locks the stripes of both accounts in index order so opposing transfers cannot deadlock.
+     *
+     * @return the locks held, to be passed to {@link #release(ReentrantLock[])}
+     */
+    public ReentrantLock[] acquire(UUID first, UUID second) {
+        int a = stripeOf(first);
+        int b = stripeOf(second);
+        ReentrantLock[] held = a == b
+                ? new ReentrantLock[]{locks[a]}
+                : new ReentrantLock[]{locks[Math.min(a, b)], locks[Math.max(a, b)]};
+        for (ReentrantLock lock : held) {
+            lock.lock();
+        }
+        return held;
+    }
+
+    public void release(ReentrantLock[] held) {
+        for (int i = held.length - 1; i >= 0; i--) {
+            held[i].unlock();
+        }
+    }
+
+    private int stripeOf(UUID accountId) {
+        return Math.floorMod(accountId.hashCode(), STRIPES);
+    }
+}
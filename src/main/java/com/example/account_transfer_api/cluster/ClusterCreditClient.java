@@ -0,0 +1,53 @@
+package com.example.account_transfer_api.cluster;
+
+import com.example.account_transfer_api.dto.CreditRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.UUID;
+
+/**
+ * Sends the messages of a cross-node transfer to the node owning the destination account, see
+ * {@link CreditParticipant}.
+ */
+@Component
+public class ClusterCreditClient {
+
+    public static final String CREDITS_PATH = "/internal/cluster/credits/";
+
+    private final RestClient restClient;
+
+    public ClusterCreditClient(RestClient.Builder restClientBuilder, ClusterProperties clusterProperties) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(clusterProperties.getForwardConnectTimeout());
+        requestFactory.setReadTimeout(clusterProperties.getForwardReadTimeout());
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+    }
+
+    /**
+     * @return whether the node accepted the message; false if it answered with an error status
+     * @throws org.springframework.web.client.RestClientException if the node could not be reached
+     */
+    public boolean prepare(String nodeUrl, UUID transactionId, CreditRequest credit) {
+        return send(HttpMethod.PUT, nodeUrl + CREDITS_PATH + transactionId, credit);
+    }
+
+    public boolean commit(String nodeUrl, UUID transactionId, CreditRequest credit) {
+        return send(HttpMethod.POST, nodeUrl + CREDITS_PATH + transactionId + "/commit", credit);
+    }
+
+    public boolean abort(String nodeUrl, UUID transactionId, CreditRequest credit) {
+        return send(HttpMethod.POST, nodeUrl + CREDITS_PATH + transactionId + "/abort", credit);
+    }
+
+    private boolean send(HttpMethod method, String uri, CreditRequest credit) {
+        return restClient.method(method)
+                .uri(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(credit)
+                .exchange((clientRequest, response) -> response.getStatusCode().is2xxSuccessful());
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.account_transfer_api.cluster;
+
+import com.example.account_transfer_api.entity.ClusterCredit;
+import com.example.account_transfer_api.entity.Transaction;
+import com.example.account_transfer_api.enums.ClusterCreditStatus;
+import com.example.account_transfer_api.enums.TransactionStatus;
+import com.example.account_transfer_api.repository.AccountRepository;
+import com.example.account_transfer_api.repository.ClusterCreditRepository;
+import com.example.account_transfer_api.repository.TransactionRepository;
+import com.example.account_transfer_api.service.TransferResults;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Database side of the node-owned balance path. Each method is one short transaction of version-checked
+ * balance UPDATEs and status changes; none of them reads an account row. Callers hold the stripes of the
+ * accounts involved and apply the new balances to the {@link OwnedAccountLedger} only after a method
+ * has returned, i.e. committed.
+ */
+@Component
+class ClusterLedgerStore {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ClusterCreditRepository clusterCreditRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    ClusterLedgerStore(AccountRepository accountRepository,
+                       TransactionRepository transactionRepository,
+                       ClusterCreditRepository clusterCreditRepository,
+                       ApplicationEventPublisher eventPublisher) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.clusterCreditRepository = clusterCreditRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public void transferWithinNode(LedgerAccount source, BigDecimal sourceBalance,
+                                   LedgerAccount destination, BigDecimal destinationBalance, Transaction transaction) {
+        transactionRepository.save(transaction);
+        writeBalance(source, sourceBalance, transaction.getId(), transaction.getCreatedAt());
+        writeBalance(destination, destinationBalance, transaction.getId(), transaction.getCreatedAt());
+    }
+
+    /**
+     * Debits the source of a cross-node transfer and records the transfer as {@code PENDING}.
+     */
+    @Transactional
+    public void reserve(LedgerAccount source, BigDecimal sourceBalance, Transaction transaction) {
+        transactionRepository.save(transaction);
+        writeBalance(source, sourceBalance, transaction.getId(), transaction.getCreatedAt());
+    }
+
+    /**
+     * Gives a {@code PENDING} transfer's debit back and marks it {@code FAILED}.
+     *
+     * @return false if the transfer had already left {@code PENDING}; nothing is changed then
+     */
+    @Transactional
+    public boolean refund(LedgerAccount source, BigDecimal sourceBalance, Transaction transaction) {
+        if (transactionRepository.updateStatus(transaction.getId(), TransactionStatus.PENDING.name(),
+                TransactionStatus.FAILED.name()) == 0) {
+            return false;
+        }
+        writeBalance(source, sourceBalance, transaction.getId(), Instant.now());
+        return true;
+    }
+
+    @Transactional
+    public boolean markStatus(UUID transactionId, TransactionStatus expected, TransactionStatus status) {
+        return transactionRepository.updateStatus(transactionId, expected.name(), status.name()) == 1;
+    }
+
+    /**
+     * @return the credit recorded under the transaction id, which is a new {@code PREPARED} one unless
+     * a message for this transaction arrived before
+     */
+    @Transactional
+    public ClusterCredit prepareCredit(UUID transactionId, UUID accountId, BigDecimal amount) {
+        return clusterCreditRepository.findById(transactionId)
+                .orElseGet(() -> clusterCreditRepository.save(credit(transactionId, accountId, amount, ClusterCreditStatus.PREPARED)));
+    }
+
+    /**
+     * Applies a {@code PREPARED} credit to the destination balance and marks it {@code COMMITTED}.
+     */
+    @Transactional
+    public void commitCredit(ClusterCredit credit, LedgerAccount destination, BigDecimal destinationBalance) {
+        credit.setStatus(ClusterCreditStatus.COMMITTED.name());
+        clusterCreditRepository.save(credit);
+        writeBalance(destination, destinationBalance, credit.getTransactionId(), Instant.now());
+    }
+
+    /**
+     * Marks a {@code PREPARED} credit {@code ABORTED}. An unknown one is recorded as {@code ABORTED}, so a
+     * PREPARE that arrives after the abort is refused.
+     *
+     * @return the status of the credit afterwards
+     */
+    @Transactional
+    public ClusterCreditStatus abortCredit(UUID transactionId, UUID accountId, BigDecimal amount) {
+        Optional<ClusterCredit> existing = clusterCreditRepository.findById(transactionId);
+        if (existing.isEmpty()) {
+            clusterCreditRepository.save(credit(transactionId, accountId, amount, ClusterCreditStatus.ABORTED));
+            return ClusterCreditStatus.ABORTED;
+        }
+        ClusterCredit credit = existing.get();
+        if (ClusterCreditStatus.PREPARED.name().equals(credit.getStatus())) {
+            credit.setStatus(ClusterCreditStatus.ABORTED.name());
+        }
+        return ClusterCreditStatus.valueOf(credit.getStatus());
+    }
+
+    private void writeBalance(LedgerAccount account, BigDecimal balance, UUID transactionId, Instant timestamp) {
+        if (accountRepository.updateBalance(account.getId(), balance, account.getVersion()) == 0) {
+            throw new StaleLedgerException(account.getId());
+        }
+        // Delivered to BalanceEventBus subscribers once the transaction commits
+        eventPublisher.publishEvent(TransferResults.balanceEvent(account.getId(), balance, account.getCurrency(),
+                account.getVersion() + 1, transactionId, timestamp));
+    }
+
+    private ClusterCredit credit(UUID transactionId, UUID accountId, BigDecimal amount, ClusterCreditStatus status) {
+        return ClusterCredit.builder()
+                .transactionId(transactionId)
+                .accountId(accountId)
+                .amount(amount)
+                .status(status.name())
+                .createdAt(Instant.now())
+                .build();
+    }
+}
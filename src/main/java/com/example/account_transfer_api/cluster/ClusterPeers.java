@@ -0,0 +1,46 @@
+package com.example.account_transfer_api.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Addresses of the configured cluster nodes, resolved once at startup. Only requests from these
+ * addresses may mark themselves as forwarded; from anyone else the marker is ignored and the request
+ * is routed like any other.
+ */
+@Component
+@Slf4j
+public class ClusterPeers {
+
+    private final Set<InetAddress> addresses = new HashSet<>();
+
+    public ClusterPeers(ClusterProperties clusterProperties) {
+        if (!clusterProperties.isEnabled()) {
+            return;
+        }
+        for (String node : clusterProperties.getNodes()) {
+            String host = URI.create(node).getHost();
+            try {
+                addresses.addAll(Arrays.asList(InetAddress.getAllByName(host)));
+            } catch (UnknownHostException e) {
+                log.warn("Cannot resolve cluster node {}, forwarded requests from it will be routed again", node);
+            }
+        }
+    }
+
+    public boolean isPeer(String remoteAddress) {
+        try {
+            // Remote addresses are IP literals, so this does not hit DNS
+            return addresses.contains(InetAddress.getByName(remoteAddress));
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
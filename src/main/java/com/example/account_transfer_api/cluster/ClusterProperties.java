@@ -0,0 +1,35 @@
+package com.example.account_transfer_api.cluster;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "cluster")
+public class ClusterProperties {
+    /** Single-JVM mode when false: every transfer is executed locally. */
+    private boolean enabled = false;
+    /** Index of this node in {@link #nodes}. */
+    private int nodeIndex = 0;
+    /** Base URLs of all nodes, in the same order on every node. */
+    private List<String> nodes = new ArrayList<>();
+    /** Number of account-id hash partitions, split into contiguous ranges across the nodes. */
+    private int partitions = 64;
+    /** Connect timeout for forwarding a transfer to its owner node and for cross-node transfer messages. */
+    private Duration forwardConnectTimeout = Duration.ofSeconds(1);
+    /**
+     * Read timeout for forwarding, where the caller then gets an error and the outcome is unknown, and for
+     * cross-node transfer messages.
+     */
+    private Duration forwardReadTimeout = Duration.ofSeconds(10);
+    /**
+     * Age after which a cross-node transfer still waiting for its destination node is finished by recovery:
+     * refunded if it never got past PREPARE, committed again if the commit was decided but not acknowledged.
+     */
+    private Duration twoPhaseTimeout = Duration.ofSeconds(30);
+    /** How often {@link TwoPhaseRecovery} looks for such transfers. */
+    private Duration recoveryInterval = Duration.ofSeconds(10);
+}
@@ -0,0 +1,57 @@
+package com.example.account_transfer_api.cluster;
+
+import com.example.account_transfer_api.dto.TransferRequest;
+import com.example.account_transfer_api.dto.TransferResponse;
+import com.example.account_transfer_api.service.NetSettlementClearingService;
+import com.example.account_transfer_api.service.TransferService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+/**
+ * Entry point for transfers. In clustered mode the node owning the source account's partition executes the
+ * transfer against the balances it owns, see {@link LedgerTransferService}; other nodes forward it there.
+ * <p>
+ * In single-node mode transfers run through {@link TransferService}, or are queued for
+ * {@link NetSettlementClearingService} in deferred clearing mode.
+ */
+@Service
+public class ClusteredTransferService {
+
+    private final ClusterProperties clusterProperties;
+    private final PartitionRouter partitionRouter;
+    private final TransferForwarder transferForwarder;
+    private final LedgerTransferService ledgerTransferService;
+    private final TransferService transferService;
+    private final NetSettlementClearingService clearingService;
+
+    public ClusteredTransferService(ClusterProperties clusterProperties,
+                                    PartitionRouter partitionRouter,
+                                    TransferForwarder transferForwarder,
+                                    LedgerTransferService ledgerTransferService,
+                                    TransferService transferService,
+                                    ObjectProvider<NetSettlementClearingService> clearingService) {
+        this.clusterProperties = clusterProperties;
+        this.partitionRouter = partitionRouter;
+        this.transferForwarder = transferForwarder;
+        this.ledgerTransferService = ledgerTransferService;
+        this.transferService = transferService;
+        this.clearingService = clearingService.getIfAvailable();
+    }
+
+    /**
+     * @param forwarded true if another node already routed this request here; it is then not forwarded
+     *                  again, so a request is forwarded at most once
+     */
+    public TransferResponse transfer(TransferRequest request, boolean forwarded) {
+        if (!clusterProperties.isEnabled()) {
+            if (clearingService != null) {
+                return clearingService.transfer(request);
+            }
+            return transferService.transferMoney(request);
+        }
+        if (!forwarded && !partitionRouter.isLocal(request.getFromAccountId())) {
+            return transferForwarder.forward(partitionRouter.ownerUrl(request.getFromAccountId()), request);
+        }
+        return ledgerTransferService.transfer(request);
+    }
+}
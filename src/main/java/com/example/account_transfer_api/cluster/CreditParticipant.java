@@ -0,0 +1,97 @@
+package com.example.account_transfer_api.cluster;
+
+import com.example.account_transfer_api.dto.CreditRequest;
+import com.example.account_transfer_api.entity.ClusterCredit;
+import com.example.account_transfer_api.enums.ClusterCreditStatus;
+import com.example.account_transfer_api.repository.ClusterCreditRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Destination side of a cross-node transfer. PREPARE checks that the account is owned here and in the
+ * expected currency and records the credit without touching the balance; COMMIT applies it exactly once;
+ * ABORT discards it, or fences a PREPARE that has not arrived yet. Every message for a credit is handled
+ * under the stripe of its account, so messages for the same credit never interleave.
+ */
+@Component
+@Slf4j
+public class CreditParticipant {
+
+    private final PartitionRouter partitionRouter;
+    private final OwnedAccountLedger ownedAccountLedger;
+    private final ClusterLedgerStore clusterLedgerStore;
+    private final ClusterCreditRepository clusterCreditRepository;
+
+    CreditParticipant(PartitionRouter partitionRouter,
+                      OwnedAccountLedger ownedAccountLedger,
+                      ClusterLedgerStore clusterLedgerStore,
+                      ClusterCreditRepository clusterCreditRepository) {
+        this.partitionRouter = partitionRouter;
+        this.ownedAccountLedger = ownedAccountLedger;
+        this.clusterLedgerStore = clusterLedgerStore;
+        this.clusterCreditRepository = clusterCreditRepository;
+    }
+
+    /**
+     * @return whether the credit is prepared and may be committed
+     */
+    public boolean prepare(UUID transactionId, CreditRequest request) {
+        if (!partitionRouter.isLocal(request.getAccountId())) {
+            return false;
+        }
+        return ownedAccountLedger.locked(request.getAccountId(), request.getAccountId(), () -> {
+            Optional<LedgerAccount> account = ownedAccountLedger.get(request.getAccountId());
+            if (account.isEmpty() || !account.get().getCurrency().equals(request.getCurrency())) {
+                log.warn("Refusing credit {}: no account {} in {}", transactionId, request.getAccountId(), request.getCurrency());
+                return false;
+            }
+            ClusterCredit credit = clusterLedgerStore.prepareCredit(transactionId, request.getAccountId(), request.getAmount());
+            return ClusterCreditStatus.PREPARED.name().equals(credit.getStatus()) && matches(credit, request);
+        });
+    }
+
+    /**
+     * @return whether the credit is committed; repeating a COMMIT that already succeeded returns true again
+     */
+    public boolean commit(UUID transactionId, CreditRequest request) {
+        if (!partitionRouter.isLocal(request.getAccountId())) {
+            return false;
+        }
+        return ownedAccountLedger.locked(request.getAccountId(), request.getAccountId(), () -> {
+            Optional<ClusterCredit> stored = clusterCreditRepository.findById(transactionId);
+            if (stored.isEmpty() || !matches(stored.get(), request)) {
+                return false;
+            }
+            ClusterCredit credit = stored.get();
+            if (!ClusterCreditStatus.PREPARED.name().equals(credit.getStatus())) {
+                return ClusterCreditStatus.COMMITTED.name().equals(credit.getStatus());
+            }
+            LedgerAccount account = ownedAccountLedger.get(credit.getAccountId())
+                    .orElseThrow(() -> new IllegalStateException("Account " + credit.getAccountId() + " of prepared credit not found"));
+            BigDecimal balance = account.getBalance().add(credit.getAmount());
+            clusterLedgerStore.commitCredit(credit, account, balance);
+            account.apply(balance);
+            return true;
+        });
+    }
+
+    /**
+     * @return whether the credit is aborted; false only if it was already committed
+     */
+    public boolean abort(UUID transactionId, CreditRequest request) {
+        if (!partitionRouter.isLocal(request.getAccountId())) {
+            return false;
+        }
+        return ownedAccountLedger.locked(request.getAccountId(), request.getAccountId(), () ->
+                clusterLedgerStore.abortCredit(transactionId, request.getAccountId(), request.getAmount())
+                        == ClusterCreditStatus.ABORTED);
+    }
+
+    private boolean matches(ClusterCredit credit, CreditRequest request) {
+        return credit.getAccountId().equals(request.getAccountId()) && credit.getAmount().compareTo(request.getAmount()) == 0;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.account_transfer_api.cluster;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+
+/**
+ * Non-2xx response of the owner node to a forwarded transfer, relayed unchanged to the original client.
+ */
+@Getter
+public class ForwardedErrorException extends RuntimeException {
+
+    private final HttpStatusCode status;
+    private final MediaType contentType;
+    private final byte[] body;
+
+    public ForwardedErrorException(HttpStatusCode status, MediaType contentType, byte[] body) {
+        super("Owner node answered forwarded transfer with " + status);
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.account_transfer_api.cluster;
+
+import com.example.account_transfer_api.repository.AccountBalanceView;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Balance of an account owned by this node, as last written by this node. Only read and changed while the
+ * account's stripe is held, see {@link OwnedAccountLedger#locked}.
+ */
+@Getter
+class LedgerAccount {
+
+    private final UUID id;
+    private final String currency;
+    private BigDecimal balance;
+    private long version;
+
+    LedgerAccount(AccountBalanceView view) {
+        this.id = view.getId();
+        this.currency = view.getCurrency();
+        this.balance = view.getBalance();
+        this.version = view.getBalanceVersion();
+    }
+
+    /**
+     * Follows a committed, version-checked write of {@code newBalance} to the account row.
+     */
+    void apply(BigDecimal newBalance) {
+        balance = newBalance;
+        version++;
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.account_transfer_api.cluster;
+
+import com.example.account_transfer_api.dto.CreditRequest;
+import com.example.account_transfer_api.dto.TransferRequest;
+import com.example.account_transfer_api.dto.TransferResponse;
+import com.example.account_transfer_api.entity.Transaction;
+import com.example.account_transfer_api.enums.TransactionStatus;
+import com.example.account_transfer_api.repository.AccountBalanceView;
+import com.example.account_transfer_api.repository.AccountRepository;
+import com.example.account_transfer_api.rules.TransferRuleEngine;
+import com.example.account_transfer_api.service.FeeConfigService;
+import com.example.account_transfer_api.service.FxQuote;
+import com.example.account_transfer_api.service.FxRateService;
+import com.example.account_transfer_api.service.TransferResults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Executes transfers on the node owning the source account in clustered mode, against the balances in
+ * {@link OwnedAccountLedger} instead of locked account rows.
+ * <ul>
+ *     <li>Both accounts owned here: validated in memory and written in one transaction with version-checked
+ *     UPDATEs of both balances. No row is read or locked.</li>
+ *     <li>Destination owned by another node: two-phase commit with this node as coordinator. The source is
+ *     debited and the transfer recorded as {@code PENDING} ({@link ClusterLedgerStore#reserve}), then the
+ *     destination node is asked to PREPARE the credit. If it refuses or cannot be reached, the debit is
+ *     refunded and the credit aborted. Otherwise the decision is recorded as {@code COMMITTING} before COMMIT
+ *     is sent, and the transfer becomes {@code SUCCESS} once the destination acknowledges it.</li>
+ * </ul>
+ * No lock is held while waiting for the other node. {@link TwoPhaseRecovery} finishes transfers whose
+ * coordinator stopped waiting: {@code PENDING} ones are refunded, {@code COMMITTING} ones committed again.
+ * Status changes are conditional, so recovery and a late coordinator never both act on one transfer.
+ */
+@Service
+@Slf4j
+public class LedgerTransferService {
+
+    private final PartitionRouter partitionRouter;
+    private final OwnedAccountLedger ownedAccountLedger;
+    private final ClusterLedgerStore clusterLedgerStore;
+    private final ClusterCreditClient clusterCreditClient;
+    private final AccountRepository accountRepository;
+    private final FxRateService fxRateService;
+    private final FeeConfigService feeConfigService;
+    private final TransferRuleEngine transferRuleEngine;
+
+    LedgerTransferService(PartitionRouter partitionRouter,
+                          OwnedAccountLedger ownedAccountLedger,
+                          ClusterLedgerStore clusterLedgerStore,
+                          ClusterCreditClient clusterCreditClient,
+                          AccountRepository accountRepository,
+                          FxRateService fxRateService,
+                          FeeConfigService feeConfigService,
+                          TransferRuleEngine transferRuleEngine) {
+        this.partitionRouter = partitionRouter;
+        this.ownedAccountLedger = ownedAccountLedger;
+        this.clusterLedgerStore = clusterLedgerStore;
+        this.clusterCreditClient = clusterCreditClient;
+        this.accountRepository = accountRepository;
+        this.fxRateService = fxRateService;
+        this.feeConfigService = feeConfigService;
+        this.transferRuleEngine = transferRuleEngine;
+    }
+
+    public TransferResponse transfer(TransferRequest request) {
+        UUID fromAccountId = request.getFromAccountId();
+        UUID toAccountId = request.getToAccountId();
+        if (fromAccountId.equals(toAccountId)) {
+            throw new IllegalStateException("Source account and Destination account are the same.");
+        }
+        if (!partitionRouter.isLocal(fromAccountId)) {
+            // Only the owner may write the balance; a request routed here by a stale partition map fails
+            throw new IllegalStateException("Source account is not owned by this node");
+        }
+
+        BigDecimal amount = request.getAmount().setScale(2, RoundingMode.HALF_UP);
+        Instant now = Instant.now();
+
+        Optional<String> ruleViolation = transferRuleEngine.evaluate(fromAccountId, toAccountId, amount);
+        if (ruleViolation.isPresent()) {
+            return TransferResults.failed(ruleViolation.get());
+        }
+        BigDecimal fee = TransferResults.fee(amount, feeConfigService.getGlobalFeePercentage());
+
+        TransferResponse response = partitionRouter.isLocal(toAccountId)
+                ? transferWithinNode(fromAccountId, toAccountId, amount, fee, now)
+                : transferAcrossNodes(fromAccountId, toAccountId, amount, fee, now);
+        if (response.getStatus() == TransactionStatus.SUCCESS) {
+            transferRuleEngine.record(fromAccountId, toAccountId, amount);
+        }
+        return response;
+    }
+
+    /**
+     * Refunds a {@code PENDING} transfer and tells the destination node to drop its credit.
+     */
+    void abort(Transaction transaction) {
+        UUID fromAccountId = transaction.getFromAccountId();
+        BigDecimal refund = transaction.getAmountDebited().add(transaction.getTransactionFee());
+        ownedAccountLedger.locked(fromAccountId, fromAccountId, () -> {
+            LedgerAccount source = ownedAccountLedger.get(fromAccountId)
+                    .orElseThrow(() -> new IllegalStateException("Source account " + fromAccountId + " of pending transfer not found"));
+            BigDecimal balance = source.getBalance().add(refund);
+            if (clusterLedgerStore.refund(source, balance, transaction)) {
+                source.apply(balance);
+            }
+            return null;
+        });
+        send("ABORT", transaction, () -> clusterCreditClient.abort(ownerOfDestination(transaction), transaction.getId(), creditOf(transaction)));
+    }
+
+    /**
+     * Sends COMMIT for a {@code COMMITTING} transfer and marks it {@code SUCCESS} once acknowledged. If the
+     * destination node cannot be reached, the transfer stays {@code COMMITTING} for recovery.
+     */
+    void commit(Transaction transaction) {
+        if (send("COMMIT", transaction, () -> clusterCreditClient.commit(ownerOfDestination(transaction), transaction.getId(), creditOf(transaction)))) {
+            clusterLedgerStore.markStatus(transaction.getId(), TransactionStatus.COMMITTING, TransactionStatus.SUCCESS);
+        }
+    }
+
+    private TransferResponse transferWithinNode(UUID fromAccountId, UUID toAccountId, BigDecimal amount, BigDecimal fee, Instant now) {
+        return ownedAccountLedger.locked(fromAccountId, toAccountId, () -> {
+            LedgerAccount source = ownedAccountLedger.get(fromAccountId)
+                    .orElseThrow(() -> new IllegalArgumentException("Source account not found"));
+            LedgerAccount destination = ownedAccountLedger.get(toAccountId)
+                    .orElseThrow(() -> new IllegalArgumentException("Destination account not found"));
+
+            FxQuote fxQuote = quoteFor(source.getCurrency(), destination.getCurrency(), now);
+            if (fxQuote == null) {
+                return TransferResults.failed("FX rate not found for transfer");
+            }
+            BigDecimal totalDebit = amount.add(fee);
+            if (source.getBalance().compareTo(totalDebit) < 0) {
+                return TransferResults.failed("Insufficient funds");
+            }
+
+            BigDecimal credited = TransferResults.convert(amount, fxQuote);
+            BigDecimal sourceBalance = source.getBalance().subtract(totalDebit);
+            BigDecimal destinationBalance = destination.getBalance().add(credited);
+            Transaction transaction = TransferResults.transaction(fromAccountId, source.getCurrency(), toAccountId,
+                    destination.getCurrency(), amount, credited, fee, fxQuote, now, TransactionStatus.SUCCESS);
+            clusterLedgerStore.transferWithinNode(source, sourceBalance, destination, destinationBalance, transaction);
+            source.apply(sourceBalance);
+            destination.apply(destinationBalance);
+            return TransferResults.successResponse(transaction);
+        });
+    }
+
+    private TransferResponse transferAcrossNodes(UUID fromAccountId, UUID toAccountId, BigDecimal amount, BigDecimal fee, Instant now) {
+        // The currency of an account never changes, so it can be read although another node owns the balance
+        AccountBalanceView destination = accountRepository.findBalanceViewById(toAccountId)
+                .orElseThrow(() -> new IllegalArgumentException("Destination account not found"));
+
+        Reservation reservation = ownedAccountLedger.locked(fromAccountId, fromAccountId, () -> {
+            LedgerAccount source = ownedAccountLedger.get(fromAccountId)
+                    .orElseThrow(() -> new IllegalArgumentException("Source account not found"));
+
+            FxQuote fxQuote = quoteFor(source.getCurrency(), destination.getCurrency(), now);
+            if (fxQuote == null) {
+                return Reservation.rejected("FX rate not found for transfer");
+            }
+            BigDecimal totalDebit = amount.add(fee);
+            if (source.getBalance().compareTo(totalDebit) < 0) {
+                return Reservation.rejected("Insufficient funds");
+            }
+
+            BigDecimal sourceBalance = source.getBalance().subtract(totalDebit);
+            Transaction transaction = TransferResults.transaction(fromAccountId, source.getCurrency(), toAccountId,
+                    destination.getCurrency(), amount, TransferResults.convert(amount, fxQuote), fee, fxQuote, now,
+                    TransactionStatus.PENDING);
+            clusterLedgerStore.reserve(source, sourceBalance, transaction);
+            source.apply(sourceBalance);
+            return new Reservation(transaction, null);
+        });
+        if (reservation.rejection() != null) {
+            return reservation.rejection();
+        }
+
+        Transaction transaction = reservation.transaction();
+        if (!send("PREPARE", transaction, () -> clusterCreditClient.prepare(ownerOfDestination(transaction), transaction.getId(), creditOf(transaction)))) {
+            abort(transaction);
+            return TransferResults.failed("Destination node did not accept the transfer");
+        }
+        if (!clusterLedgerStore.markStatus(transaction.getId(), TransactionStatus.PENDING, TransactionStatus.COMMITTING)) {
+            // Recovery refunded the transfer while PREPARE was in flight
+            send("ABORT", transaction, () -> clusterCreditClient.abort(ownerOfDestination(transaction), transaction.getId(), creditOf(transaction)));
+            return TransferResults.failed("Transfer timed out before it could commit");
+        }
+        // Decided: the credit is applied even if this COMMIT is lost, so the transfer has succeeded
+        commit(transaction);
+        return TransferResults.successResponse(transaction);
+    }
+
+    private boolean send(String message, Transaction transaction, BooleanSupplier request) {
+        try {
+            if (request.getAsBoolean()) {
+                return true;
+            }
+            log.warn("{} of transfer {} was refused by the destination node", message, transaction.getId());
+        } catch (RestClientException e) {
+            log.warn("{} of transfer {} could not be delivered: {}", message, transaction.getId(), e.getMessage());
+        }
+        return false;
+    }
+
+    private FxQuote quoteFor(String fromCurrency, String toCurrency, Instant at) {
+        try {
+            return fxRateService.getQuote(fromCurrency, toCurrency, at);
+        } catch (IllegalArgumentException e) {
+            log.error(e.getMessage());
+            return null;
+        }
+    }
+
+    private String ownerOfDestination(Transaction transaction) {
+        return partitionRouter.ownerUrl(transaction.getToAccountId());
+    }
+
+    private CreditRequest creditOf(Transaction transaction) {
+        return new CreditRequest(transaction.getToAccountId(), transaction.getToCurrency(), transaction.getAmountCredited());
+    }
+
+    private record Reservation(Transaction transaction, TransferResponse rejection) {
+
+        private static Reservation rejected(String message) {
+            return new Reservation(null, TransferResults.failed(message));
+        }
+    }
+}
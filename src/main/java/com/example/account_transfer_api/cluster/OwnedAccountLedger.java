@@ -0,0 +1,78 @@
+package com.example.account_transfer_api.cluster;
+
+import com.example.account_transfer_api.repository.AccountRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory balances of the accounts this node owns in clustered mode. Only the owner writes an account's
+ * balance, so an entry loaded once stays current: transfers validate against it without reading or locking
+ * the row, and write through with a version-checked UPDATE. If that UPDATE finds another version, the row
+ * was changed elsewhere; the entry is dropped and the work is retried once against a fresh copy.
+ * <p>
+ * Entries are only used inside {@link #locked}, which holds the accounts' stripes. Every owned account that
+ * has been used stays cached.
+ */
+@Component
+public class OwnedAccountLedger {
+
+    private static final int MAX_ATTEMPTS = 2;
+
+    private final AccountRepository accountRepository;
+    private final AccountLockStripes accountLockStripes;
+    private final Map<UUID, LedgerAccount> accounts = new ConcurrentHashMap<>();
+
+    public OwnedAccountLedger(AccountRepository accountRepository, AccountLockStripes accountLockStripes) {
+        this.accountRepository = accountRepository;
+        this.accountLockStripes = accountLockStripes;
+    }
+
+    /**
+     * Runs {@code action} holding the stripes of both accounts, which may be the same.
+     */
+    <T> T locked(UUID first, UUID second, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            ReentrantLock[] held = accountLockStripes.acquire(first, second);
+            try {
+                return action.get();
+            } catch (StaleLedgerException e) {
+                evict(first, second);
+                if (attempt == MAX_ATTEMPTS) {
+                    throw new IllegalStateException("Balance of account " + e.getAccountId()
+                            + " keeps changing outside its owner node", e);
+                }
+            } catch (RuntimeException e) {
+                // A failed write may still have committed, so the entries are reloaded next time
+                evict(first, second);
+                throw e;
+            } finally {
+                accountLockStripes.release(held);
+            }
+        }
+    }
+
+    /**
+     * Must be called inside {@link #locked} for this account.
+     */
+    Optional<LedgerAccount> get(UUID accountId) {
+        LedgerAccount account = accounts.get(accountId);
+        if (account == null) {
+            // Not cached when missing, so an account created later is still found
+            Optional<LedgerAccount> loaded = accountRepository.findBalanceViewById(accountId).map(LedgerAccount::new);
+            loaded.ifPresent(a -> accounts.put(accountId, a));
+            return loaded;
+        }
+        return Optional.of(account);
+    }
+
+    private void evict(UUID first, UUID second) {
+        accounts.remove(first);
+        accounts.remove(second);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.account_transfer_api.cluster;
+
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Maps an account id to its hash partition and the partition to the node owning it.
+ * Node {@code i} of {@code n} owns the contiguous partition range {@code [i * p / n, (i + 1) * p / n)}.
+ */
+@Component
+public class PartitionRouter {
+
+    private final ClusterProperties clusterProperties;
+
+    public PartitionRouter(ClusterProperties clusterProperties) {
+        if (clusterProperties.isEnabled()) {
+            int nodeCount = clusterProperties.getNodes().size();
+            if (nodeCount == 0 || clusterProperties.getNodeIndex() < 0 || clusterProperties.getNodeIndex() >= nodeCount) {
+                throw new IllegalStateException("cluster.node-index must point into a non-empty cluster.nodes list");
+            }
+            if (clusterProperties.getPartitions() < nodeCount) {
+                throw new IllegalStateException("cluster.partitions must be at least the number of nodes");
+            }
+        }
+        this.clusterProperties = clusterProperties;
+    }
+
+    public int partitionOf(UUID accountId) {
+        return Math.floorMod(accountId.hashCode(), clusterProperties.getPartitions());
+    }
+
+    public int ownerOf(UUID accountId) {
+        return (int) ((long) partitionOf(accountId) * clusterProperties.getNodes().size() / clusterProperties.getPartitions());
+    }
+
+    public boolean isLocal(UUID accountId) {
+        return !clusterProperties.isEnabled() || ownerOf(accountId) == clusterProperties.getNodeIndex();
+    }
+
+    public String ownerUrl(UUID accountId) {
+        return clusterProperties.getNodes().get(ownerOf(accountId));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.account_transfer_api.cluster;
+
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * A version-checked balance write found the row at another version than the ledger, so the row was
+ * changed without going through this node's ledger.
+ */
+@Getter
+class StaleLedgerException extends RuntimeException {
+
+    private final UUID accountId;
+
+    StaleLedgerException(UUID accountId) {
+        super("Balance of account " + accountId + " changed outside the ledger");
+        this.accountId = accountId;
+    }
+}
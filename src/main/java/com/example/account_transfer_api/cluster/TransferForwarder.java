@@ -0,0 +1,41 @@
+package com.example.account_transfer_api.cluster;
+
+import com.example.account_transfer_api.dto.TransferRequest;
+import com.example.account_transfer_api.dto.TransferResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+@Component
+public class TransferForwarder {
+
+    public static final String FORWARDED_HEADER = "X-Cluster-Forwarded";
+
+    private final RestClient restClient;
+
+    public TransferForwarder(RestClient.Builder restClientBuilder, ClusterProperties clusterProperties) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(clusterProperties.getForwardConnectTimeout());
+        requestFactory.setReadTimeout(clusterProperties.getForwardReadTimeout());
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+    }
+
+    /**
+     * @throws ForwardedErrorException if the owner answers with a non-2xx status
+     */
+    public TransferResponse forward(String ownerUrl, TransferRequest request) {
+        return restClient.post()
+                .uri(ownerUrl + "/api/transfers")
+                .header(FORWARDED_HEADER, "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(request)
+                .exchange((clientRequest, response) -> {
+                    if (response.getStatusCode().is2xxSuccessful()) {
+                        return response.bodyTo(TransferResponse.class);
+                    }
+                    throw new ForwardedErrorException(response.getStatusCode(),
+                            response.getHeaders().getContentType(), response.getBody().readAllBytes());
+                });
+    }
+}
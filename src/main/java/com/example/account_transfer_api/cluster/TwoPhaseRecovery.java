@@ -0,0 +1,67 @@
+package com.example.account_transfer_api.cluster;
+
+import com.example.account_transfer_api.entity.Transaction;
+import com.example.account_transfer_api.enums.TransactionStatus;
+import com.example.account_transfer_api.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Finishes cross-node transfers whose coordinator stopped before completing them, e.g. because the node
+ * restarted or the destination node was unreachable. Each node only handles transfers from accounts it owns.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class TwoPhaseRecovery {
+
+    private final ClusterProperties clusterProperties;
+    private final PartitionRouter partitionRouter;
+    private final TransactionRepository transactionRepository;
+    private final LedgerTransferService ledgerTransferService;
+
+    public TwoPhaseRecovery(ClusterProperties clusterProperties,
+                            PartitionRouter partitionRouter,
+                            TransactionRepository transactionRepository,
+                            LedgerTransferService ledgerTransferService) {
+        this.clusterProperties = clusterProperties;
+        this.partitionRouter = partitionRouter;
+        this.transactionRepository = transactionRepository;
+        this.ledgerTransferService = ledgerTransferService;
+    }
+
+    @Scheduled(fixedDelayString = "${cluster.recovery-interval:PT10S}")
+    public void recover() {
+        Instant cutoff = Instant.now().minus(clusterProperties.getTwoPhaseTimeout());
+        // Never decided to commit, so the destination has not applied the credit: refund
+        for (Transaction transaction : stuckIn(TransactionStatus.PENDING, cutoff)) {
+            log.warn("Aborting transfer {} pending since {}", transaction.getId(), transaction.getCreatedAt());
+            recover(transaction, () -> ledgerTransferService.abort(transaction));
+        }
+        // Decided to commit: COMMIT is idempotent on the destination, so it is simply sent again
+        for (Transaction transaction : stuckIn(TransactionStatus.COMMITTING, cutoff)) {
+            log.warn("Committing transfer {} again, committing since {}", transaction.getId(), transaction.getCreatedAt());
+            recover(transaction, () -> ledgerTransferService.commit(transaction));
+        }
+    }
+
+    private List<Transaction> stuckIn(TransactionStatus status, Instant cutoff) {
+        return transactionRepository.findByStatusAndCreatedAtBefore(status.name(), cutoff).stream()
+                .filter(transaction -> partitionRouter.isLocal(transaction.getFromAccountId()))
+                .toList();
+    }
+
+    private void recover(Transaction transaction, Runnable action) {
+        // One transfer that cannot be finished must not keep the others from being recovered
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.error("Recovery of transfer {} failed", transaction.getId(), e);
+        }
+    }
+}
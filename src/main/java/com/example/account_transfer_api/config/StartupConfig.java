@@ -0,0 +1,32 @@
+package com.example.account_transfer_api.config;
+
+import com.example.account_transfer_api.cluster.ClusteredTransferService;
+import com.example.account_transfer_api.controller.TransferController;
+import com.example.account_transfer_api.repository.AccountRepository;
+import com.example.account_transfer_api.repository.TransactionRepository;
+import com.example.account_transfer_api.service.FeeConfigService;
+import com.example.account_transfer_api.service.FxRateService;
+import com.example.account_transfer_api.service.TransferService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Beans on the transfer path are created eagerly even when {@code spring.main.lazy-initialization}
+     * is on, so the first request does not pay for their construction.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter transferPathEagerInitialization() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                TransferController.class,
+                ClusteredTransferService.class,
+                TransferService.class,
+                FxRateService.class,
+                FeeConfigService.class,
+                AccountRepository.class,
+                TransactionRepository.class);
+    }
+}
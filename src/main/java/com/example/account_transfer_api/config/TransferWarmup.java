@@ -0,0 +1,108 @@
+package com.example.account_transfer_api.config;
+
+import com.example.account_transfer_api.diagnostics.LockContentionMonitor;
+import com.example.account_transfer_api.dto.TransferRequest;
+import com.example.account_transfer_api.dto.TransferResponse;
+import com.example.account_transfer_api.entity.Account;
+import com.example.account_transfer_api.repository.AccountRepository;
+import com.example.account_transfer_api.service.TransferService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Exercises the transfer path before the web server starts accepting connections. As a lifecycle bean in a
+ * phase below the web server's, it runs while no request can arrive, so warm-up transfers never contend
+ * with real ones and resetting the lock statistics afterwards discards nothing but warm-up samples.
+ * <p>
+ * Every warm-up transfer runs in a transaction that is rolled back, between two accounts created inside
+ * that same transaction, so no customer account is locked and no rows survive the warm-up.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "transfer.warmup.enabled", havingValue = "true")
+public class TransferWarmup implements SmartLifecycle {
+
+    // Web servers start in phase SmartLifecycle.DEFAULT_PHASE - 2048
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final TransferService transferService;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final LockContentionMonitor lockContentionMonitor;
+    private final int iterations;
+    private volatile boolean running;
+
+    public TransferWarmup(TransferService transferService,
+                          AccountRepository accountRepository,
+                          TransactionTemplate transactionTemplate,
+                          ObjectMapper objectMapper,
+                          LockContentionMonitor lockContentionMonitor,
+                          @Value("${transfer.warmup.iterations:200}") int iterations) {
+        this.transferService = transferService;
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.lockContentionMonitor = lockContentionMonitor;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void start() {
+        long start = System.nanoTime();
+        // Different currencies, so the FX lookup is warmed up as well
+        Account from = warmupAccount("USD");
+        Account to = warmupAccount("AUD");
+        TransferRequest request = new TransferRequest(from.getId(), to.getId(), new BigDecimal("0.01"));
+        for (int i = 0; i < iterations; i++) {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    accountRepository.saveAndFlush(from);
+                    accountRepository.saveAndFlush(to);
+                    TransferResponse response = transferService.transferMoney(request);
+                    objectMapper.writeValueAsBytes(response);
+                } catch (Exception e) {
+                    log.debug("Warm-up transfer failed", e);
+                }
+                status.setRollbackOnly();
+            });
+        }
+        // Warm-up lock waits are not real contention
+        lockContentionMonitor.reset();
+        log.info("Warmed up transfer path with {} rolled-back transfers in {} ms",
+                iterations, (System.nanoTime() - start) / 1_000_000);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private static Account warmupAccount(String currency) {
+        return Account.builder()
+                .id(UUID.randomUUID())
+                .name("warm-up")
+                .balance(new BigDecimal("1000.00"))
+                .currency(currency)
+                .build();
+    }
+}
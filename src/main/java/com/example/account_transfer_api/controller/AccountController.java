@@ -2,8 +2,11 @@ package com.example.account_transfer_api.controller;
 
 import com.example.account_transfer_api.dto.AccountDTO;
 import com.example.account_transfer_api.service.AccountService;
+import com.example.account_transfer_api.service.BalanceEventBus;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -14,6 +17,7 @@ import java.util.UUID;
 public class AccountController {
 
     private final AccountService accountService;
+    private final BalanceEventBus balanceEventBus;
 
     @PostMapping
     public AccountDTO createAccount(@RequestBody AccountDTO accountDTO) {
@@ -25,6 +29,11 @@ public class AccountController {
         return accountService.getAccountById(id);
     }
 
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAccountEvents(@PathVariable UUID id) {
+        return balanceEventBus.subscribe(id, () -> accountService.getBalanceSnapshot(id));
+    }
+
     @GetMapping
     public List<AccountDTO> getAllAccounts() {
         return accountService.getAllAccounts();
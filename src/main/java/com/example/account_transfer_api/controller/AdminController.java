@@ -0,0 +1,50 @@
+package com.example.account_transfer_api.controller;
+
+import com.example.account_transfer_api.diagnostics.LockContentionMonitor;
+import com.example.account_transfer_api.dto.LockContentionDTO;
+import com.example.account_transfer_api.rules.RuleLimits;
+import com.example.account_transfer_api.rules.TransferRuleEngine;
+import com.example.account_transfer_api.service.FxRateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final TransferRuleEngine transferRuleEngine;
+    private final LockContentionMonitor lockContentionMonitor;
+    private final FxRateService fxRateService;
+
+    @GetMapping("/rules")
+    public RuleLimits getRuleLimits() {
+        return transferRuleEngine.getLimits();
+    }
+
+    @PutMapping("/rules")
+    public RuleLimits updateRuleLimits(@RequestBody RuleLimits ruleLimits) {
+        transferRuleEngine.reload(ruleLimits);
+        return transferRuleEngine.getLimits();
+    }
+
+    /**
+     * Picks up rows inserted into {@code fx_rates} without waiting for the periodic refresh.
+     */
+    @PostMapping("/fx-rates/reload")
+    public void reloadFxRates() {
+        fxRateService.reloadAll();
+    }
+
+    @GetMapping("/lock-contention")
+    public List<LockContentionDTO> getLockContention(@RequestParam(defaultValue = "10") int limit) {
+        return lockContentionMonitor.topContended(limit);
+    }
+
+    @DeleteMapping("/lock-contention")
+    public void resetLockContention() {
+        lockContentionMonitor.reset();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.account_transfer_api.controller;
+
+import com.example.account_transfer_api.cluster.ClusterPeers;
+import com.example.account_transfer_api.cluster.ClusterProperties;
+import com.example.account_transfer_api.cluster.CreditParticipant;
+import com.example.account_transfer_api.dto.CreditRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Destination side of cross-node transfers in clustered mode. Answers 200 if the message was applied and
+ * 409 if it was refused.
+ */
+@RestController
+@RequestMapping("/internal/cluster/credits/{transactionId}")
+@RequiredArgsConstructor
+public class ClusterCreditController {
+    private final ClusterProperties clusterProperties;
+    private final ClusterPeers clusterPeers;
+    private final CreditParticipant creditParticipant;
+
+    @PutMapping
+    public ResponseEntity<Void> prepare(@PathVariable UUID transactionId, @RequestBody CreditRequest credit,
+                                        HttpServletRequest servletRequest) {
+        return respond(servletRequest, () -> creditParticipant.prepare(transactionId, credit));
+    }
+
+    @PostMapping("/commit")
+    public ResponseEntity<Void> commit(@PathVariable UUID transactionId, @RequestBody CreditRequest credit,
+                                       HttpServletRequest servletRequest) {
+        return respond(servletRequest, () -> creditParticipant.commit(transactionId, credit));
+    }
+
+    @PostMapping("/abort")
+    public ResponseEntity<Void> abort(@PathVariable UUID transactionId, @RequestBody CreditRequest credit,
+                                      HttpServletRequest servletRequest) {
+        return respond(servletRequest, () -> creditParticipant.abort(transactionId, credit));
+    }
+
+    private ResponseEntity<Void> respond(HttpServletRequest servletRequest, BooleanSupplier message) {
+        if (!clusterProperties.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Credits move money, so only other nodes may send them
+        if (!clusterPeers.isPeer(servletRequest.getRemoteAddr())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return message.getAsBoolean() ? ResponseEntity.ok().build() : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
@@ -1,13 +1,19 @@
 package com.example.account_transfer_api.controller;
 
+import com.example.account_transfer_api.cluster.ClusterPeers;
+import com.example.account_transfer_api.cluster.ClusteredTransferService;
+import com.example.account_transfer_api.cluster.ForwardedErrorException;
+import com.example.account_transfer_api.cluster.TransferForwarder;
 import com.example.account_transfer_api.dto.TransferRequest;
 import com.example.account_transfer_api.dto.TransferResponse;
-import com.example.account_transfer_api.service.TransferService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -15,11 +21,25 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/transfers")
 @RequiredArgsConstructor
 public class TransferController {
-    private final TransferService transferService;
+    private final ClusteredTransferService clusteredTransferService;
+    private final ClusterPeers clusterPeers;
 
     @PostMapping
-    public ResponseEntity<TransferResponse> createTransfer(@RequestBody @Valid TransferRequest transferRequest) {
-        TransferResponse response = transferService.transferMoney(transferRequest);
+    public ResponseEntity<TransferResponse> createTransfer(@RequestBody @Valid TransferRequest transferRequest,
+                                                           @RequestHeader(value = TransferForwarder.FORWARDED_HEADER, defaultValue = "false") boolean forwardedHeader,
+                                                           HttpServletRequest servletRequest) {
+        // Only other nodes may skip routing; the header is ignored from any other client
+        boolean forwarded = forwardedHeader && clusterPeers.isPeer(servletRequest.getRemoteAddr());
+        TransferResponse response = clusteredTransferService.transfer(transferRequest, forwarded);
         return ResponseEntity.ok(response);
     }
+
+    @ExceptionHandler(ForwardedErrorException.class)
+    public ResponseEntity<byte[]> relayOwnerError(ForwardedErrorException e) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(e.getStatus());
+        if (e.getContentType() != null) {
+            response.contentType(e.getContentType());
+        }
+        return response.body(e.getBody());
+    }
 }
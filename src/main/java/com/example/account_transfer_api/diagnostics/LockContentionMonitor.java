@@ -0,0 +1,157 @@
+package com.example.account_transfer_api.diagnostics;
+
+import com.example.account_transfer_api.dto.LockContentionDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tracks the accounts whose row locks are waited on the most, using the Space-Saving heavy-hitters
+ * algorithm weighted by wait time: a new account replaces the one with the least accumulated wait and
+ * inherits that wait as its error bound. An account that is locked often but never waits therefore
+ * cannot displace one with rare but long waits.
+ * <p>
+ * Accounts are hashed onto independent stripes of {@value #SLOTS_PER_STRIPE} slots, each with its own
+ * lock, so recording on the transfer path does not serialize unrelated accounts and a miss scans only
+ * one stripe. Within a stripe, any account with more than {@code 1 / SLOTS_PER_STRIPE} of the stripe's
+ * total wait is guaranteed to be tracked.
+ * <p>
+ * A capacity below 1 disables the monitor: nothing is recorded and no accounts are reported.
+ */
+@Component
+public class LockContentionMonitor {
+
+    static final int SLOTS_PER_STRIPE = 16;
+
+    private final double sampleRate;
+    private final Stripe[] stripes;
+
+    public LockContentionMonitor(@Value("${diagnostics.lock-contention.capacity:128}") int capacity,
+                                 @Value("${diagnostics.lock-contention.sample-rate:1.0}") double sampleRate) {
+        this.sampleRate = sampleRate;
+        int stripeCount = capacity < 1 ? 0 : Math.max(1, capacity / SLOTS_PER_STRIPE);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(Math.min(capacity, SLOTS_PER_STRIPE));
+        }
+    }
+
+    public void record(UUID accountId, long waitNanos) {
+        if (stripes.length == 0) {
+            return;
+        }
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        stripes[Math.floorMod(accountId.hashCode(), stripes.length)].record(accountId, Math.max(waitNanos, 1));
+    }
+
+    /**
+     * @return tracked accounts ordered by estimated total wait time, most contended first
+     */
+    public List<LockContentionDTO> topContended(int limit) {
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.snapshot(snapshots);
+        }
+        return snapshots.stream()
+                .sorted(Comparator.comparingLong(Snapshot::weightNanos).reversed())
+                .limit(limit)
+                .map(Snapshot::dto)
+                .toList();
+    }
+
+    public void reset() {
+        for (Stripe stripe : stripes) {
+            stripe.reset();
+        }
+    }
+
+    private record Snapshot(long weightNanos, LockContentionDTO dto) {
+    }
+
+    private static final class Stripe {
+        private final int capacity;
+        private final Map<UUID, Counter> counters = new HashMap<>();
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private synchronized void record(UUID accountId, long waitNanos) {
+            Counter counter = counters.get(accountId);
+            if (counter == null) {
+                counter = claimCounter(accountId);
+            }
+            counter.weightNanos += waitNanos;
+            counter.histogram.record(waitNanos);
+        }
+
+        private synchronized void snapshot(List<Snapshot> into) {
+            for (Counter counter : counters.values()) {
+                into.add(new Snapshot(counter.weightNanos, counter.toDTO()));
+            }
+        }
+
+        private synchronized void reset() {
+            counters.clear();
+        }
+
+        private Counter claimCounter(UUID accountId) {
+            if (counters.size() < capacity) {
+                Counter counter = new Counter(accountId, 0, new WaitTimeHistogram());
+                counters.put(accountId, counter);
+                return counter;
+            }
+            Counter min = null;
+            for (Counter candidate : counters.values()) {
+                if (min == null || candidate.weightNanos < min.weightNanos) {
+                    min = candidate;
+                }
+            }
+            counters.remove(min.accountId);
+            min.histogram.reset();
+            Counter counter = new Counter(accountId, min.weightNanos, min.histogram);
+            counters.put(accountId, counter);
+            return counter;
+        }
+    }
+
+    private static final class Counter {
+        private final UUID accountId;
+        private final long errorNanos;
+        private final WaitTimeHistogram histogram;
+        private long weightNanos;
+
+        private Counter(UUID accountId, long inheritedNanos, WaitTimeHistogram histogram) {
+            this.accountId = accountId;
+            this.errorNanos = inheritedNanos;
+            this.weightNanos = inheritedNanos;
+            this.histogram = histogram;
+        }
+
+        private LockContentionDTO toDTO() {
+            return LockContentionDTO.builder()
+                    .accountId(accountId)
+                    .samples(histogram.count())
+                    .totalWaitMillis(toMillis(histogram.totalNanos()))
+                    .totalWaitErrorMillis(toMillis(errorNanos))
+                    .p50WaitMillis(toMillis(histogram.percentileNanos(0.50)))
+                    .p90WaitMillis(toMillis(histogram.percentileNanos(0.90)))
+                    .p99WaitMillis(toMillis(histogram.percentileNanos(0.99)))
+                    .maxWaitMillis(toMillis(histogram.maxNanos()))
+                    .build();
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
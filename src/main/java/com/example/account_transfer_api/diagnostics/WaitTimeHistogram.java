@@ -0,0 +1,77 @@
+package com.example.account_transfer_api.diagnostics;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size log-linear histogram of nanosecond durations: every power of two is split into four
+ * buckets, so reported percentiles are upper bounds at most 25% above the true value. Not thread-safe.
+ */
+class WaitTimeHistogram {
+
+    private static final int BUCKETS = 64 * 4;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long totalNanos;
+    private long maxNanos;
+
+    void record(long nanos) {
+        long value = Math.max(nanos, 1);
+        counts[bucketOf(value)]++;
+        total++;
+        totalNanos += value;
+        maxNanos = Math.max(maxNanos, value);
+    }
+
+    void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    long count() {
+        return total;
+    }
+
+    long totalNanos() {
+        return totalNanos;
+    }
+
+    long maxNanos() {
+        return maxNanos;
+    }
+
+    long percentileNanos(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= target) {
+                return Math.min(upperBoundOf(bucket), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    private static int bucketOf(long value) {
+        int octave = 63 - Long.numberOfLeadingZeros(value);
+        if (octave < 2) {
+            return (int) value;
+        }
+        int sub = (int) ((value >>> (octave - 2)) & 3);
+        return octave * 4 + sub;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < 4) {
+            return bucket;
+        }
+        int octave = bucket / 4;
+        int sub = bucket % 4;
+        return ((long) (4 + sub + 1) << (octave - 2)) - 1;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.account_transfer_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceEvent {
+    private UUID accountId;
+    private BigDecimal balance;
+    private String currency;
+    private UUID transactionId;
+    private Instant timestamp;
+    /** Balance version of the account; a higher version is always the more recent balance. */
+    private long version;
+}
@@ -0,0 +1,23 @@
+package com.example.account_transfer_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Credit of a cross-node transfer, sent by the node owning the source account to the node owning the
+ * destination with every PREPARE, COMMIT and ABORT message.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreditRequest {
+    private UUID accountId;
+    private String currency;
+    private BigDecimal amount;
+}
@@ -0,0 +1,25 @@
+package com.example.account_transfer_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LockContentionDTO {
+    private UUID accountId;
+    // Samples and wait observed since the account took its slot
+    private long samples;
+    private double totalWaitMillis;
+    // Wait inherited from the account evicted from the slot; the true total is at most totalWait + this
+    private double totalWaitErrorMillis;
+    private double p50WaitMillis;
+    private double p90WaitMillis;
+    private double p99WaitMillis;
+    private double maxWaitMillis;
+}
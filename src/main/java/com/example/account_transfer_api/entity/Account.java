@@ -24,5 +24,8 @@ public class Account {
     private BigDecimal balance;
     @Column(nullable = false, length = 3)
     private String currency;
+    // Incremented with every balance change while the row is locked, so it follows commit order
+    @Column(nullable = false)
+    private long balanceVersion;
 }
 
@@ -0,0 +1,44 @@
+package com.example.account_transfer_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Cold-tier copy of a {@link Transaction}. Rows are only ever written by the archive mover.
+ */
+@Entity
+@Table(name = "transactions_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedTransaction {
+    @Id
+    private UUID id;
+    @Column(nullable = false)
+    private UUID fromAccountId;
+    @Column(nullable = false)
+    private UUID toAccountId;
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amountDebited;
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amountCredited;
+    @Column(nullable = false, length = 3)
+    private String fromCurrency;
+    @Column(nullable = false, length = 3)
+    private String toCurrency;
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal transactionFee;
+    @Column(nullable = false)
+    private String status;
+    @Column(nullable = false)
+    private Instant createdAt;
+    private Long fxRateId;
+}
@@ -0,0 +1,34 @@
+package com.example.account_transfer_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Credit of a cross-node transfer as seen by the node owning the destination account. It is keyed by the
+ * coordinator's transaction id, so repeated commit or abort messages find the same row.
+ */
+@Entity
+@Table(name = "cluster_credits")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClusterCredit {
+    @Id
+    private UUID transactionId;
+    @Column(nullable = false)
+    private UUID accountId;
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+    @Column(nullable = false)
+    private String status;
+    @Column(nullable = false)
+    private Instant createdAt;
+}
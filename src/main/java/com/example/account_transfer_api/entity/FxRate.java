@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 @Entity
 @Table(name = "fx_rates")
@@ -24,4 +25,7 @@ public class FxRate {
     private String toCurrency;
     @Column(nullable = false, precision = 19, scale = 6)
     private BigDecimal rate;
+    // The rate applies from this instant until the next valid_from of the same pair
+    @Column(nullable = false)
+    private Instant validFrom;
 }
@@ -37,4 +37,8 @@ public class Transaction {
     private BigDecimal transactionFee;
     @Column(nullable = false)
     private String status;
+    @Column(nullable = false)
+    private Instant createdAt;
+    // fx_rates row the amount was converted with, null for same-currency transfers
+    private Long fxRateId;
 }
@@ -0,0 +1,7 @@
+package com.example.account_transfer_api.enums;
+
+public enum ClusterCreditStatus {
+    PREPARED,
+    COMMITTED,
+    ABORTED
+}
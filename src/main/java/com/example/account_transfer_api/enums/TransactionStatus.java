@@ -3,5 +3,8 @@ package com.example.account_transfer_api.enums;
 public enum TransactionStatus {
     SUCCESS,
     FAILED,
-    PENDING
+    // Cross-node transfer in clustered mode: source debited, destination node not yet told to commit
+    PENDING,
+    // Cross-node transfer decided to commit; the destination credit is being applied
+    COMMITTING
 }
@@ -0,0 +1,18 @@
+package com.example.account_transfer_api.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Read-only projection of an account. Loading it does not attach an {@code Account} to the
+ * persistence context, so a later locking read in the same transaction still sees fresh row state.
+ */
+public interface AccountBalanceView {
+    UUID getId();
+
+    BigDecimal getBalance();
+
+    String getCurrency();
+
+    long getBalanceVersion();
+}
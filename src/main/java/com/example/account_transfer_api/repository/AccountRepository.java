@@ -4,9 +4,13 @@ import com.example.account_transfer_api.entity.Account;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,4 +18,20 @@ public interface AccountRepository extends JpaRepository<Account, UUID> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT a FROM Account a WHERE a.id = :id")
     Optional<Account> findByIdWithLock(@Param("id") UUID id);
+
+    Optional<AccountBalanceView> findBalanceViewById(UUID id);
+
+    List<AccountBalanceView> findBalanceViewsByIdIn(Collection<UUID> ids);
+
+    /**
+     * Sets the balance only if the row still has {@code expectedVersion}, i.e. nobody else changed it since
+     * it was read. Takes no lock beyond the update itself.
+     *
+     * @return 1 if the balance was written, 0 if the version no longer matched
+     */
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = :balance, a.balanceVersion = a.balanceVersion + 1 "
+            + "WHERE a.id = :id AND a.balanceVersion = :expectedVersion")
+    int updateBalance(@Param("id") UUID id, @Param("balance") BigDecimal balance,
+                      @Param("expectedVersion") long expectedVersion);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.account_transfer_api.repository;
+
+import com.example.account_transfer_api.entity.ClusterCredit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface ClusterCreditRepository extends JpaRepository<ClusterCredit, UUID> {
+}
@@ -1,9 +1,44 @@
 package com.example.account_transfer_api.repository;
 
 import com.example.account_transfer_api.entity.Transaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
-public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
+public interface TransactionRepository extends JpaRepository<Transaction, UUID>, TransactionRepositoryCustom {
+
+    @Query("SELECT t.id FROM Transaction t WHERE t.createdAt < :cutoff ORDER BY t.createdAt")
+    List<UUID> findIdsCreatedBefore(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO transactions_archive (id, from_account_id, to_account_id, amount_debited, amount_credited,
+                                              from_currency, to_currency, transaction_fee, status, created_at, fx_rate_id)
+            SELECT id, from_account_id, to_account_id, amount_debited, amount_credited,
+                   from_currency, to_currency, transaction_fee, status, created_at, fx_rate_id
+            FROM transactions WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Moves a transaction from one status to another; a concurrent move away from {@code expected} wins.
+     *
+     * @return 1 if the status was changed, 0 if it was no longer {@code expected}
+     */
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = :status WHERE t.id = :id AND t.status = :expected")
+    int updateStatus(@Param("id") UUID id, @Param("expected") String expected, @Param("status") String status);
+
+    List<Transaction> findByStatusAndCreatedAtBefore(String status, Instant cutoff);
 }
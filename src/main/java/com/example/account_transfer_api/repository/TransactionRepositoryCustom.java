@@ -0,0 +1,19 @@
+package com.example.account_transfer_api.repository;
+
+import com.example.account_transfer_api.entity.Transaction;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Lookups that span the hot {@code transactions} table and the {@code transactions_archive} cold tier.
+ * Archived rows are returned as detached {@link Transaction} instances and must not be saved back.
+ */
+public interface TransactionRepositoryCustom {
+
+    Optional<Transaction> findInAnyTier(UUID id);
+
+    List<Transaction> findByAccountIdBetween(UUID accountId, Instant from, Instant to);
+}
@@ -0,0 +1,91 @@
+package com.example.account_transfer_api.repository;
+
+import com.example.account_transfer_api.entity.ArchivedTransaction;
+import com.example.account_transfer_api.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    private final EntityManager entityManager;
+    private final Duration retention;
+
+    TransactionRepositoryCustomImpl(EntityManager entityManager,
+                                    @Value("${transactions.archive.retention:P30D}") Duration retention) {
+        this.entityManager = entityManager;
+        this.retention = retention;
+    }
+
+    @Override
+    public Optional<Transaction> findInAnyTier(UUID id) {
+        Transaction hot = entityManager.find(Transaction.class, id);
+        if (hot != null) {
+            return Optional.of(hot);
+        }
+        return Optional.ofNullable(entityManager.find(ArchivedTransaction.class, id))
+                .map(this::toTransaction);
+    }
+
+    @Override
+    public List<Transaction> findByAccountIdBetween(UUID accountId, Instant from, Instant to) {
+        Map<UUID, Transaction> byId = new LinkedHashMap<>();
+        entityManager.createQuery("""
+                        SELECT t FROM Transaction t
+                        WHERE (t.fromAccountId = :accountId OR t.toAccountId = :accountId)
+                          AND t.createdAt >= :from AND t.createdAt < :to
+                        """, Transaction.class)
+                .setParameter("accountId", accountId)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList()
+                .forEach(t -> byId.put(t.getId(), t));
+
+        // Rows younger than the retention window are never moved, so the cold tier only needs
+        // to be consulted when the range reaches back past it. Older rows may still be hot until
+        // the mover catches up, which is why the hot tier is always queried.
+        // The hot tier is read first, so a row moved between the two queries is seen twice rather than
+        // missed; the archived copy is then dropped.
+        if (from.isBefore(Instant.now().minus(retention))) {
+            entityManager.createQuery("""
+                            SELECT t FROM ArchivedTransaction t
+                            WHERE (t.fromAccountId = :accountId OR t.toAccountId = :accountId)
+                              AND t.createdAt >= :from AND t.createdAt < :to
+                            """, ArchivedTransaction.class)
+                    .setParameter("accountId", accountId)
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .getResultList()
+                    .forEach(t -> byId.putIfAbsent(t.getId(), toTransaction(t)));
+        }
+
+        List<Transaction> result = new ArrayList<>(byId.values());
+        result.sort(Comparator.comparing(Transaction::getCreatedAt));
+        return result;
+    }
+
+    private Transaction toTransaction(ArchivedTransaction archived) {
+        return Transaction.builder()
+                .id(archived.getId())
+                .fromAccountId(archived.getFromAccountId())
+                .toAccountId(archived.getToAccountId())
+                .amountDebited(archived.getAmountDebited())
+                .amountCredited(archived.getAmountCredited())
+                .fromCurrency(archived.getFromCurrency())
+                .toCurrency(archived.getToCurrency())
+                .transactionFee(archived.getTransactionFee())
+                .status(archived.getStatus())
+                .createdAt(archived.getCreatedAt())
+                .fxRateId(archived.getFxRateId())
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.account_transfer_api.rules;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory transfer history of one source account, as needed by the velocity rules.
+ * <p>
+ * Known destinations are kept without a lock: each maps to the sequence number of its last use, a
+ * destination is new exactly when inserting it finds no previous entry, and once the map grows past
+ * {@link #MAX_KNOWN_DESTINATIONS} the least recently used entries are removed. Concurrent evictions may
+ * briefly remove a few more entries than needed, which only makes those destinations count as new again.
+ */
+public class AccountActivity {
+
+    // Most recently used destinations kept; one that falls out counts as new again when next used
+    static final int MAX_KNOWN_DESTINATIONS = 256;
+
+    private final SlidingWindowCounter transfersPerMinute = new SlidingWindowCounter(Duration.ofMinutes(1), 12);
+    private final SlidingWindowCounter amountInWindow;
+    private final SlidingWindowCounter newDestinationsInWindow;
+    private final Map<UUID, Long> knownDestinations = new ConcurrentHashMap<>();
+    private final AtomicLong destinationUses = new AtomicLong();
+    private volatile long lastActivityMillis;
+
+    public AccountActivity(Duration window, long nowMillis) {
+        this.amountInWindow = new SlidingWindowCounter(window, 20);
+        this.newDestinationsInWindow = new SlidingWindowCounter(window, 20);
+        this.lastActivityMillis = nowMillis;
+    }
+
+    public void record(UUID destination, long amountCents, long nowMillis) {
+        transfersPerMinute.add(nowMillis, 1);
+        amountInWindow.add(nowMillis, amountCents);
+        if (rememberDestination(destination)) {
+            newDestinationsInWindow.add(nowMillis, 1);
+        }
+        lastActivityMillis = nowMillis;
+    }
+
+    public long transfersInLastMinute(long nowMillis) {
+        return transfersPerMinute.sum(nowMillis);
+    }
+
+    public long amountCentsInWindow(long nowMillis) {
+        return amountInWindow.sum(nowMillis);
+    }
+
+    public long newDestinationsInWindow(long nowMillis) {
+        return newDestinationsInWindow.sum(nowMillis);
+    }
+
+    public boolean isKnownDestination(UUID destination) {
+        return knownDestinations.containsKey(destination);
+    }
+
+    public long getLastActivityMillis() {
+        return lastActivityMillis;
+    }
+
+    /**
+     * Marks the destination as the most recently used one.
+     *
+     * @return whether the destination was not known before
+     */
+    protected boolean rememberDestination(UUID destination) {
+        boolean added = knownDestinations.put(destination, destinationUses.incrementAndGet()) == null;
+        while (knownDestinations.size() > MAX_KNOWN_DESTINATIONS) {
+            evictLeastRecentlyUsed();
+        }
+        return added;
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Map.Entry<UUID, Long> eldest = null;
+        for (Map.Entry<UUID, Long> entry : knownDestinations.entrySet()) {
+            if (eldest == null || entry.getValue() < eldest.getValue()) {
+                eldest = entry;
+            }
+        }
+        if (eldest != null) {
+            // Leaves the entry alone if it was used again since the scan
+            knownDestinations.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+}
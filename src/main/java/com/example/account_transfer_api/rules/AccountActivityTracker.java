@@ -0,0 +1,41 @@
+package com.example.account_transfer_api.rules;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds {@link AccountActivity} per source account. Accounts idle for longer than the rule window
+ * carry no state any rule could still see, so they are evicted periodically.
+ */
+@Component
+@Slf4j
+public class AccountActivityTracker {
+
+    private final Map<UUID, AccountActivity> activities = new ConcurrentHashMap<>();
+    private final TransferRuleProperties properties;
+
+    public AccountActivityTracker(TransferRuleProperties properties) {
+        this.properties = properties;
+    }
+
+    public AccountActivity activityOf(UUID accountId, long nowMillis) {
+        return activities.computeIfAbsent(accountId, id -> new AccountActivity(properties.getWindow(), nowMillis));
+    }
+
+    public int trackedAccounts() {
+        return activities.size();
+    }
+
+    @Scheduled(fixedDelayString = "${transfer.rules.eviction-interval:PT1M}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - properties.getWindow().toMillis();
+        int before = activities.size();
+        activities.values().removeIf(activity -> activity.getLastActivityMillis() < cutoff);
+        log.debug("Evicted {} idle accounts from rule tracking", before - activities.size());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.account_transfer_api.rules;
+
+import java.util.Optional;
+
+public class MaxAmountPerWindowRule implements TransferRule {
+
+    private final long maxAmountCents;
+
+    public MaxAmountPerWindowRule(long maxAmountCents) {
+        this.maxAmountCents = maxAmountCents;
+    }
+
+    @Override
+    public Optional<String> evaluate(TransferRuleContext context) {
+        long total = context.getActivity().amountCentsInWindow(context.getNowMillis()) + context.getAmountCents();
+        return total > maxAmountCents
+                ? Optional.of("Transfer limit exceeded: maximum amount per window")
+                : Optional.empty();
+    }
+}
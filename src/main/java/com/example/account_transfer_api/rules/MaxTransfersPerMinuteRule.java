@@ -0,0 +1,19 @@
+package com.example.account_transfer_api.rules;
+
+import java.util.Optional;
+
+public class MaxTransfersPerMinuteRule implements TransferRule {
+
+    private final int maxTransfers;
+
+    public MaxTransfersPerMinuteRule(int maxTransfers) {
+        this.maxTransfers = maxTransfers;
+    }
+
+    @Override
+    public Optional<String> evaluate(TransferRuleContext context) {
+        return context.getActivity().transfersInLastMinute(context.getNowMillis()) >= maxTransfers
+                ? Optional.of("Transfer limit exceeded: maximum transfers per minute")
+                : Optional.empty();
+    }
+}
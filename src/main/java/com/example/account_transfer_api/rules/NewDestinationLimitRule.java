@@ -0,0 +1,23 @@
+package com.example.account_transfer_api.rules;
+
+import java.util.Optional;
+
+public class NewDestinationLimitRule implements TransferRule {
+
+    private final int maxNewDestinations;
+
+    public NewDestinationLimitRule(int maxNewDestinations) {
+        this.maxNewDestinations = maxNewDestinations;
+    }
+
+    @Override
+    public Optional<String> evaluate(TransferRuleContext context) {
+        AccountActivity activity = context.getActivity();
+        if (activity.isKnownDestination(context.getToAccountId())) {
+            return Optional.empty();
+        }
+        return activity.newDestinationsInWindow(context.getNowMillis()) >= maxNewDestinations
+                ? Optional.of("Transfer limit exceeded: too many new destinations")
+                : Optional.empty();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.account_transfer_api.rules;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Transfers accepted in a settlement batch that has not committed yet, layered over the committed
+ * activity of the same account so that rules see both.
+ */
+class PendingAccountActivity extends AccountActivity {
+
+    private final AccountActivity committed;
+
+    PendingAccountActivity(AccountActivity committed, Duration window, long nowMillis) {
+        super(window, nowMillis);
+        this.committed = committed;
+    }
+
+    @Override
+    public long transfersInLastMinute(long nowMillis) {
+        return committed.transfersInLastMinute(nowMillis) + super.transfersInLastMinute(nowMillis);
+    }
+
+    @Override
+    public long amountCentsInWindow(long nowMillis) {
+        return committed.amountCentsInWindow(nowMillis) + super.amountCentsInWindow(nowMillis);
+    }
+
+    @Override
+    public long newDestinationsInWindow(long nowMillis) {
+        return committed.newDestinationsInWindow(nowMillis) + super.newDestinationsInWindow(nowMillis);
+    }
+
+    @Override
+    protected boolean rememberDestination(UUID destination) {
+        return super.rememberDestination(destination) && !committed.isKnownDestination(destination);
+    }
+
+    @Override
+    public boolean isKnownDestination(UUID destination) {
+        return committed.isKnownDestination(destination) || super.isKnownDestination(destination);
+    }
+}
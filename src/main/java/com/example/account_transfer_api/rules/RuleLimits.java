@@ -0,0 +1,23 @@
+package com.example.account_transfer_api.rules;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Hot-reloadable rule limits. A null or zero limit disables its rule.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RuleLimits {
+    /** Maximum total amount sent by one account within the rule window, in the account's currency. */
+    private BigDecimal maxAmountPerWindow;
+    private Integer maxTransfersPerMinute;
+    /** Maximum number of destinations an account has not sent to before, within the rule window. */
+    private Integer maxNewDestinationsPerWindow;
+}
@@ -0,0 +1,47 @@
+package com.example.account_transfer_api.rules;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free counter over a sliding time window, split into fixed-size buckets.
+ * <p>
+ * The first writer in a new bucket period resets the bucket with a CAS on its stamp. An add racing with
+ * that reset may be lost, so sums can undercount slightly at bucket boundaries but never overcount.
+ */
+public class SlidingWindowCounter {
+
+    private final int bucketCount;
+    private final long bucketMillis;
+    private final AtomicLongArray bucketStamps;
+    private final AtomicLongArray bucketValues;
+
+    public SlidingWindowCounter(Duration window, int bucketCount) {
+        this.bucketCount = bucketCount;
+        this.bucketMillis = Math.max(1, window.toMillis() / bucketCount);
+        this.bucketStamps = new AtomicLongArray(bucketCount);
+        this.bucketValues = new AtomicLongArray(bucketCount);
+    }
+
+    public void add(long nowMillis, long delta) {
+        long stamp = nowMillis / bucketMillis;
+        int index = (int) (stamp % bucketCount);
+        long current = bucketStamps.get(index);
+        if (current < stamp && bucketStamps.compareAndSet(index, current, stamp)) {
+            bucketValues.set(index, 0);
+        }
+        bucketValues.addAndGet(index, delta);
+    }
+
+    public long sum(long nowMillis) {
+        long stamp = nowMillis / bucketMillis;
+        long total = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            long age = stamp - bucketStamps.get(i);
+            if (age >= 0 && age < bucketCount) {
+                total += bucketValues.get(i);
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.account_transfer_api.rules;
+
+import java.util.Optional;
+
+/**
+ * A check evaluated in-line for every transfer before any database lock is taken. Implementations must
+ * only use the in-memory {@link AccountActivity}; any {@code TransferRule} bean is picked up by
+ * {@link TransferRuleEngine} in addition to the built-in limits.
+ */
+public interface TransferRule {
+
+    /**
+     * @return the rejection message, or empty if the transfer may proceed
+     */
+    Optional<String> evaluate(TransferRuleContext context);
+}
@@ -0,0 +1,16 @@
+package com.example.account_transfer_api.rules;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class TransferRuleContext {
+    private final UUID fromAccountId;
+    private final UUID toAccountId;
+    private final long amountCents;
+    private final AccountActivity activity;
+    private final long nowMillis;
+}
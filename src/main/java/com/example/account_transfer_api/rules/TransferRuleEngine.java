@@ -0,0 +1,131 @@
+package com.example.account_transfer_api.rules;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Evaluates velocity rules against in-memory per-account activity. Limits can be replaced at runtime
+ * with {@link #reload(RuleLimits)}; the active rule list is swapped atomically.
+ * <p>
+ * Evaluation and recording are not atomic, so concurrent transfers from the same account may together
+ * exceed a limit by the number of requests in flight.
+ */
+@Component
+public class TransferRuleEngine {
+
+    private final AccountActivityTracker activityTracker;
+    private final TransferRuleProperties properties;
+    private final List<TransferRule> customRules;
+    private volatile RuleLimits limits;
+    private volatile List<TransferRule> activeRules;
+
+    public TransferRuleEngine(AccountActivityTracker activityTracker,
+                              TransferRuleProperties properties,
+                              ObjectProvider<TransferRule> customRules) {
+        this.activityTracker = activityTracker;
+        this.properties = properties;
+        this.customRules = customRules.orderedStream().toList();
+        reload(properties.getLimits());
+    }
+
+    public Optional<String> evaluate(UUID fromAccountId, UUID toAccountId, BigDecimal amount) {
+        List<TransferRule> rules = activeRules;
+        if (rules.isEmpty()) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        return evaluate(rules, fromAccountId, toAccountId, amount, activityTracker.activityOf(fromAccountId, now), now);
+    }
+
+    /**
+     * Starts a settlement batch: transfers accepted in it count towards the limits of later transfers in
+     * the same batch, but reach the tracked activity only through {@link #record} once the batch commits.
+     */
+    public RuleBatch newBatch() {
+        return new RuleBatch();
+    }
+
+    private Optional<String> evaluate(List<TransferRule> rules, UUID fromAccountId, UUID toAccountId,
+                                      BigDecimal amount, AccountActivity activity, long now) {
+        TransferRuleContext context = new TransferRuleContext(fromAccountId, toAccountId, toCents(amount), activity, now);
+        for (TransferRule rule : rules) {
+            Optional<String> violation = rule.evaluate(context);
+            if (violation.isPresent()) {
+                return violation;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Records a committed transfer. Activity is tracked even while no rule is active, so limits that are
+     * switched on later see the recent history.
+     */
+    public void record(UUID fromAccountId, UUID toAccountId, BigDecimal amount) {
+        long now = System.currentTimeMillis();
+        activityTracker.activityOf(fromAccountId, now).record(toAccountId, toCents(amount), now);
+    }
+
+    public RuleLimits getLimits() {
+        return limits;
+    }
+
+    public void reload(RuleLimits newLimits) {
+        List<TransferRule> rules = new ArrayList<>();
+        if (newLimits.getMaxAmountPerWindow() != null && newLimits.getMaxAmountPerWindow().signum() > 0) {
+            rules.add(new MaxAmountPerWindowRule(toCents(newLimits.getMaxAmountPerWindow())));
+        }
+        if (newLimits.getMaxTransfersPerMinute() != null && newLimits.getMaxTransfersPerMinute() > 0) {
+            rules.add(new MaxTransfersPerMinuteRule(newLimits.getMaxTransfersPerMinute()));
+        }
+        if (newLimits.getMaxNewDestinationsPerWindow() != null && newLimits.getMaxNewDestinationsPerWindow() > 0) {
+            rules.add(new NewDestinationLimitRule(newLimits.getMaxNewDestinationsPerWindow()));
+        }
+        rules.addAll(customRules);
+
+        this.limits = newLimits;
+        this.activeRules = List.copyOf(rules);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValue();
+    }
+
+    /**
+     * Rule state of one settlement batch. Not thread-safe; a batch is evaluated by a single thread.
+     */
+    public final class RuleBatch {
+
+        private final Map<UUID, PendingAccountActivity> pending = new HashMap<>();
+
+        private RuleBatch() {
+        }
+
+        public Optional<String> evaluate(UUID fromAccountId, UUID toAccountId, BigDecimal amount) {
+            List<TransferRule> rules = activeRules;
+            if (rules.isEmpty()) {
+                return Optional.empty();
+            }
+            long now = System.currentTimeMillis();
+            AccountActivity activity = pending.containsKey(fromAccountId)
+                    ? pending.get(fromAccountId)
+                    : activityTracker.activityOf(fromAccountId, now);
+            return TransferRuleEngine.this.evaluate(rules, fromAccountId, toAccountId, amount, activity, now);
+        }
+
+        public void accept(UUID fromAccountId, UUID toAccountId, BigDecimal amount) {
+            long now = System.currentTimeMillis();
+            pending.computeIfAbsent(fromAccountId, id -> new PendingAccountActivity(
+                            activityTracker.activityOf(id, now), properties.getWindow(), now))
+                    .record(toAccountId, toCents(amount), now);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.account_transfer_api.rules;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "transfer.rules")
+public class TransferRuleProperties {
+    /** Window for the amount and new-destination limits. Fixed at startup. */
+    private Duration window = Duration.ofHours(1);
+    /** Initial limits; can be replaced at runtime through {@code PUT /api/admin/rules}. */
+    private RuleLimits limits = new RuleLimits();
+}
@@ -1,6 +1,7 @@
 package com.example.account_transfer_api.service;
 
 import com.example.account_transfer_api.dto.AccountDTO;
+import com.example.account_transfer_api.dto.BalanceEvent;
 import com.example.account_transfer_api.entity.Account;
 import com.example.account_transfer_api.repository.AccountRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -22,6 +24,7 @@ public class AccountService {
 
     public AccountDTO createAccount(@RequestBody AccountDTO dto) {
         Account account = Account.builder()
+                .id(UUID.randomUUID())
                 .name(dto.getName())
                 .balance(dto.getBalance())
                 .currency(dto.getCurrency())
@@ -50,6 +53,18 @@ public class AccountService {
                 .orElseThrow(() -> new EntityNotFoundException("Account not found: " + id));
     }
 
+    public BalanceEvent getBalanceSnapshot(UUID id) {
+        return accountRepository.findBalanceViewById(id)
+                .map(view -> BalanceEvent.builder()
+                        .accountId(view.getId())
+                        .balance(view.getBalance())
+                        .currency(view.getCurrency())
+                        .timestamp(Instant.now())
+                        .version(view.getBalanceVersion())
+                        .build())
+                .orElseThrow(() -> new EntityNotFoundException("Account not found: " + id));
+    }
+
     private AccountDTO mapToDTO(Account account) {
         return AccountDTO.builder()
                 .id(account.getId())
@@ -0,0 +1,183 @@
+package com.example.account_transfer_api.service;
+
+import com.example.account_transfer_api.dto.BalanceEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * In-process fan-out of committed balance changes to SSE subscribers.
+ * <p>
+ * Every subscriber has a bounded buffer drained by its own virtual thread, so a slow client never
+ * blocks the publisher or other subscribers. When a buffer is full the oldest event is dropped:
+ * each event carries the full balance, so the newest one supersedes everything before it.
+ * <p>
+ * Commit listeners may run out of commit order, so "newest" is decided by {@link BalanceEvent#getVersion()}
+ * rather than arrival: a subscriber skips any event not newer than the last one it sent.
+ * <p>
+ * An idle subscription sends a heartbeat comment every {@code account.events.heartbeat}, so a client
+ * that went away is noticed by the failed write instead of holding its thread until the timeout. When the
+ * application context closes, every stream is completed before the web server's graceful shutdown
+ * waits for open requests.
+ */
+@Component
+@Slf4j
+public class BalanceEventBus {
+
+    private final Map<UUID, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long heartbeatMillis;
+
+    public BalanceEventBus(@Value("${account.events.buffer-size:16}") int bufferSize,
+                           @Value("${account.events.timeout:PT30M}") Duration timeout,
+                           @Value("${account.events.heartbeat:PT15S}") Duration heartbeat) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.heartbeatMillis = heartbeat.toMillis();
+    }
+
+    /**
+     * The subscription is registered before {@code initialState} is read, so a transfer committing in
+     * between is delivered as an event rather than lost; whichever of the two is older is skipped.
+     */
+    public SseEmitter subscribe(UUID accountId, Supplier<BalanceEvent> initialState) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(accountId, emitter);
+
+        subscriptions.computeIfAbsent(accountId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+
+        try {
+            subscription.offer(initialState.get());
+        } catch (RuntimeException e) {
+            subscription.close();
+            throw e;
+        }
+        subscription.start();
+        return emitter;
+    }
+
+    /**
+     * Runs only after the publishing transaction commits, so subscribers never see rolled-back balances.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void publish(BalanceEvent event) {
+        Set<Subscription> accountSubscriptions = subscriptions.get(event.getAccountId());
+        if (accountSubscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : accountSubscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Published before lifecycle beans stop, so open streams no longer keep graceful shutdown waiting.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void completeAll() {
+        for (Set<Subscription> accountSubscriptions : subscriptions.values()) {
+            for (Subscription subscription : accountSubscriptions) {
+                subscription.complete();
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriptions.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private final class Subscription {
+        private final UUID accountId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<BalanceEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private volatile Thread sender;
+        private volatile boolean closed;
+
+        private Subscription(UUID accountId, SseEmitter emitter) {
+            this.accountId = accountId;
+            this.emitter = emitter;
+        }
+
+        private void offer(BalanceEvent event) {
+            while (!buffer.offer(event)) {
+                buffer.poll();
+            }
+        }
+
+        private void start() {
+            sender = Thread.ofVirtual().name("balance-events-" + accountId).start(this::drain);
+        }
+
+        private void drain() {
+            long lastSentVersion = -1;
+            try {
+                while (!closed) {
+                    BalanceEvent event = buffer.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        continue;
+                    }
+                    if (event.getVersion() <= lastSentVersion) {
+                        continue;
+                    }
+                    lastSentVersion = event.getVersion();
+                    SseEmitter.SseEventBuilder sse = SseEmitter.event()
+                            .name("balance")
+                            .data(event, MediaType.APPLICATION_JSON);
+                    if (event.getTransactionId() != null) {
+                        sse.id(event.getTransactionId().toString());
+                    }
+                    emitter.send(sse);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Balance event subscriber for {} disconnected: {}", accountId, e.getMessage());
+                emitter.completeWithError(e);
+            } finally {
+                close();
+            }
+        }
+
+        private void complete() {
+            close();
+            emitter.complete();
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscriptions.computeIfPresent(accountId, (id, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+            Thread thread = sender;
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+    }
+}
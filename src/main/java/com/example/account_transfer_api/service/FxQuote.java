@@ -0,0 +1,25 @@
+package com.example.account_transfer_api.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A rate together with the {@code fx_rates} row it came from. {@code rateId} is null for same-currency
+ * conversions, which need no rate.
+ */
+@Getter
+@AllArgsConstructor
+public class FxQuote {
+    private static final FxQuote IDENTITY = new FxQuote(null, BigDecimal.ONE, Instant.EPOCH);
+
+    private final Long rateId;
+    private final BigDecimal rate;
+    private final Instant validFrom;
+
+    public static FxQuote identity() {
+        return IDENTITY;
+    }
+}
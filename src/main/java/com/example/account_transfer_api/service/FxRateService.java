@@ -2,30 +2,116 @@ package com.example.account_transfer_api.service;
 
 import com.example.account_transfer_api.entity.FxRate;
 import com.example.account_transfer_api.repository.FxRateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Effective-dated FX rates, cached per currency pair. Rows inserted into {@code fx_rates} are picked up by
+ * the periodic refresh ({@code fx.rates.refresh-interval}) or immediately through {@link #reload}.
+ */
 @Service
+@Slf4j
 public class FxRateService {
 
     private final FxRateRepository fxRateRepository;
+    // Per-pair rate timelines, loaded on first use and replaced whole on refresh. A pair without rates is
+    // cached as an empty timeline, so repeated lookups of it do not query the table until the next refresh
+    private final Map<CurrencyPair, RateTimeline> timelines = new ConcurrentHashMap<>();
 
     public FxRateService(FxRateRepository fxRateRepository) {
         this.fxRateRepository = fxRateRepository;
     }
 
     public BigDecimal getRate(String currencyFrom, String currencyTo) {
+        return getQuote(currencyFrom, currencyTo, Instant.now()).getRate();
+    }
+
+    /**
+     * Returns the rate that was effective for the pair at {@code at}, i.e. the one with the latest
+     * {@code valid_from} not after it. Lookups are a binary search over the in-memory timeline.
+     */
+    public FxQuote getQuote(String currencyFrom, String currencyTo, Instant at) {
 
         if (currencyFrom.equalsIgnoreCase(currencyTo)) {
-            return BigDecimal.ONE;
+            return FxQuote.identity();
+        }
+
+        String from = currencyFrom.toUpperCase();
+        String to = currencyTo.toUpperCase();
+        RateTimeline timeline = timelines.get(new CurrencyPair(from, to));
+        if (timeline == null) {
+            timeline = loadTimeline(from, to);
+        }
+
+        FxQuote quote = timeline.at(at);
+        if (quote == null) {
+            throw new IllegalArgumentException("FX rate not found for " + currencyFrom + " -> " + currencyTo + " at " + at);
         }
+        return quote;
+    }
 
-        FxRate rate = fxRateRepository.findByFromCurrencyAndToCurrency(currencyFrom.toUpperCase(), currencyTo.toUpperCase()
-        ).orElseThrow(() -> new IllegalArgumentException(
-                "FX rate not found for " + currencyFrom + " -> " + currencyTo
-        ));
+    /**
+     * Re-reads the timeline of one pair, e.g. right after rates for it were inserted.
+     */
+    public void reload(String currencyFrom, String currencyTo) {
+        CurrencyPair pair = new CurrencyPair(currencyFrom.toUpperCase(), currencyTo.toUpperCase());
+        List<FxRate> rates = fxRateRepository.findByFromCurrencyAndToCurrencyOrderByValidFromAsc(pair.from(), pair.to());
+        timelines.put(pair, new RateTimeline(rates));
+    }
 
-        return rate.getRate();
+    /**
+     * Re-reads every cached pair. Lookups keep using the previous timeline until its replacement is loaded.
+     */
+    @Scheduled(fixedDelayString = "${fx.rates.refresh-interval:PT1M}")
+    public void reloadAll() {
+        for (CurrencyPair pair : List.copyOf(timelines.keySet())) {
+            reload(pair.from(), pair.to());
+        }
+        log.debug("Reloaded {} FX rate timelines", timelines.size());
+    }
+
+    private RateTimeline loadTimeline(String from, String to) {
+        List<FxRate> rates = fxRateRepository.findByFromCurrencyAndToCurrencyOrderByValidFromAsc(from, to);
+        RateTimeline timeline = new RateTimeline(rates);
+        timelines.put(new CurrencyPair(from, to), timeline);
+        return timeline;
+    }
+
+    private record CurrencyPair(String from, String to) {
+    }
+
+    /**
+     * Immutable, sorted rate history of one currency pair.
+     */
+    private static final class RateTimeline {
+        private final Instant[] validFrom;
+        private final FxQuote[] quotes;
+
+        private RateTimeline(List<FxRate> ratesByValidFrom) {
+            this.validFrom = new Instant[ratesByValidFrom.size()];
+            this.quotes = new FxQuote[ratesByValidFrom.size()];
+            for (int i = 0; i < ratesByValidFrom.size(); i++) {
+                FxRate rate = ratesByValidFrom.get(i);
+                validFrom[i] = rate.getValidFrom();
+                quotes[i] = new FxQuote(rate.getId(), rate.getRate(), rate.getValidFrom());
+            }
+        }
+
+        private FxQuote at(Instant instant) {
+            int index = Arrays.binarySearch(validFrom, instant);
+            if (index < 0) {
+                // Insertion point minus one: the last rate that became valid before the instant
+                index = -index - 2;
+            }
+            return index < 0 ? null : quotes[index];
+        }
     }
 }
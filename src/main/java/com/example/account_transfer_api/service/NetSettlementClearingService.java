@@ -0,0 +1,144 @@
+package com.example.account_transfer_api.service;
+
+import com.example.account_transfer_api.dto.TransferRequest;
+import com.example.account_transfer_api.dto.TransferResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Deferred clearing mode ({@code transfer.clearing.mode=deferred}). Transfers are queued and settled
+ * together every {@code transfer.clearing.window} by {@link TransferService#settleBatch}, which writes each
+ * account once with its net movement instead of once per transfer. Callers block until the window holding
+ * their transfer has committed, so a SUCCESS response still means the money has moved.
+ * <p>
+ * Windows are settled on a dedicated thread, so they are not delayed by other {@code @Scheduled} work
+ * such as the transaction archive mover. Callers wait at most {@code transfer.clearing.timeout}.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "transfer.clearing.mode", havingValue = "deferred")
+public class NetSettlementClearingService {
+
+    private final TransferService transferService;
+    private final Duration window;
+    private final Duration timeout;
+    private final int maxBatchSize;
+    private final Queue<PendingTransfer> pending = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService executor =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("transfer-clearing").daemon().factory());
+
+    public NetSettlementClearingService(TransferService transferService,
+                                        @Value("${transfer.clearing.window:PT0.05S}") Duration window,
+                                        @Value("${transfer.clearing.timeout:PT10S}") Duration timeout,
+                                        @Value("${transfer.clearing.max-batch-size:1000}") int maxBatchSize) {
+        this.transferService = transferService;
+        this.window = window;
+        this.timeout = timeout;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        executor.scheduleWithFixedDelay(this::settlePendingSafely, window.toMillis(), window.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public TransferResponse transfer(TransferRequest request) {
+        PendingTransfer transfer = new PendingTransfer(request, new CompletableFuture<>());
+        pending.add(transfer);
+        try {
+            return transfer.result().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Rethrow what transferMoney would have thrown; like in immediate mode it surfaces as a 500
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw abandon(transfer, "Transfer was not settled within " + timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw abandon(transfer, "Interrupted while waiting for settlement");
+        }
+    }
+
+    public void settlePending() {
+        List<PendingTransfer> batch = new ArrayList<>();
+        PendingTransfer next;
+        while ((next = pending.poll()) != null) {
+            batch.add(next);
+            if (batch.size() == maxBatchSize) {
+                settle(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            settle(batch);
+        }
+    }
+
+    @PreDestroy
+    public void drain() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        settlePending();
+    }
+
+    private void settlePendingSafely() {
+        // An exception escaping here would cancel the periodic task and stall every later window
+        try {
+            settlePending();
+        } catch (RuntimeException e) {
+            log.error("Clearing run failed", e);
+        }
+    }
+
+    /**
+     * A transfer still in the queue is withdrawn and will never settle. One already taken into a window
+     * may still commit, so the caller is told its outcome is unknown rather than that it failed.
+     */
+    private IllegalStateException abandon(PendingTransfer transfer, String reason) {
+        if (pending.remove(transfer)) {
+            return new IllegalStateException(reason + "; it was cancelled");
+        }
+        return new IllegalStateException(reason + "; its outcome is unknown");
+    }
+
+    private void settle(List<PendingTransfer> batch) {
+        List<SettlementOutcome> outcomes;
+        try {
+            outcomes = transferService.settleBatch(batch.stream().map(PendingTransfer::request).toList());
+        } catch (RuntimeException e) {
+            log.error("Settlement of {} transfers failed", batch.size(), e);
+            batch.forEach(transfer -> transfer.result().completeExceptionally(e));
+            return;
+        }
+        // settleBatch has committed by the time it returns
+        for (int i = 0; i < batch.size(); i++) {
+            SettlementOutcome outcome = outcomes.get(i);
+            if (outcome.getError() != null) {
+                batch.get(i).result().completeExceptionally(outcome.getError());
+            } else {
+                batch.get(i).result().complete(outcome.getResponse());
+            }
+        }
+    }
+
+    private record PendingTransfer(TransferRequest request, CompletableFuture<TransferResponse> result) {
+    }
+}
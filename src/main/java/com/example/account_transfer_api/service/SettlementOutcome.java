@@ -0,0 +1,25 @@
+package com.example.account_transfer_api.service;
+
+import com.example.account_transfer_api.dto.TransferResponse;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of one request in a settled batch: either the response {@code transferMoney} would have
+ * returned, or the exception it would have thrown.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class SettlementOutcome {
+    private final TransferResponse response;
+    private final RuntimeException error;
+
+    public static SettlementOutcome of(TransferResponse response) {
+        return new SettlementOutcome(response, null);
+    }
+
+    public static SettlementOutcome error(RuntimeException error) {
+        return new SettlementOutcome(null, error);
+    }
+}
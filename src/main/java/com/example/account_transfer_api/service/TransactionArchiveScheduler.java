@@ -0,0 +1,52 @@
+package com.example.account_transfer_api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Moves old transactions to the cold tier. In clustered mode only node 0 runs the mover: nodes share one
+ * database, and movers on several nodes would select the same oldest rows and conflict on every batch.
+ */
+@Component
+@Slf4j
+@ConditionalOnExpression("${transactions.archive.enabled:true} and (!${cluster.enabled:false} or ${cluster.node-index:0} == 0)")
+public class TransactionArchiveScheduler {
+
+    private final TransactionArchiveService transactionArchiveService;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public TransactionArchiveScheduler(TransactionArchiveService transactionArchiveService,
+                                       @Value("${transactions.archive.retention:P30D}") Duration retention,
+                                       @Value("${transactions.archive.batch-size:500}") int batchSize,
+                                       @Value("${transactions.archive.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.transactionArchiveService = transactionArchiveService;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.archive.interval:PT1M}")
+    public void archiveOldTransactions() {
+        Instant cutoff = Instant.now().minus(retention);
+        int moved = 0;
+        // Small batches keep each transaction short so the mover never holds locks the transfer path needs
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int batch = transactionArchiveService.archiveBatch(cutoff, batchSize);
+            moved += batch;
+            if (batch < batchSize) {
+                break;
+            }
+        }
+        if (moved > 0) {
+            log.info("Archived {} transactions created before {}", moved, cutoff);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.account_transfer_api.service;
+
+import com.example.account_transfer_api.repository.TransactionRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class TransactionArchiveService {
+
+    private final TransactionRepository transactionRepository;
+
+    public TransactionArchiveService(TransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Moves up to {@code batchSize} of the oldest rows created before {@code cutoff} into the archive table.
+     * Copy and delete run in the same transaction so a row is never visible in both tiers or in neither.
+     *
+     * @return the number of rows moved
+     */
+    @Transactional
+    public int archiveBatch(Instant cutoff, int batchSize) {
+        List<UUID> ids = transactionRepository.findIdsCreatedBefore(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        transactionRepository.copyToArchive(ids);
+        transactionRepository.deleteAllByIdIn(ids);
+        return ids.size();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.account_transfer_api.service;
+
+import com.example.account_transfer_api.dto.BalanceEvent;
+import com.example.account_transfer_api.dto.TransferResponse;
+import com.example.account_transfer_api.entity.Transaction;
+import com.example.account_transfer_api.enums.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Fee, transaction row, response and balance event of a transfer, built the same way by
+ * {@link TransferService} and by the node-owned balance path of clustered mode.
+ */
+public final class TransferResults {
+
+    private TransferResults() {
+    }
+
+    public static BigDecimal fee(BigDecimal amount, BigDecimal feePercentage) {
+        return amount.multiply(feePercentage).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public static BigDecimal convert(BigDecimal amount, FxQuote fxQuote) {
+        return amount.multiply(fxQuote.getRate()).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public static Transaction transaction(UUID fromAccountId, String fromCurrency, UUID toAccountId, String toCurrency,
+                                          BigDecimal amountDebited, BigDecimal amountCredited, BigDecimal fee,
+                                          FxQuote fxQuote, Instant createdAt, TransactionStatus status) {
+        return Transaction.builder()
+                .fromAccountId(fromAccountId)
+                .toAccountId(toAccountId)
+                .amountDebited(amountDebited)
+                .amountCredited(amountCredited)
+                .fromCurrency(fromCurrency)
+                .toCurrency(toCurrency)
+                .transactionFee(fee)
+                .status(status.name())
+                .createdAt(createdAt)
+                .fxRateId(fxQuote.getRateId())
+                .build();
+    }
+
+    public static TransferResponse successResponse(Transaction transaction) {
+        return TransferResponse.builder()
+                .transactionId(transaction.getId())
+                .status(TransactionStatus.SUCCESS)
+                .message("Successful transfer")
+                .amountDebited(transaction.getAmountDebited())
+                .amountCredited(transaction.getAmountCredited())
+                .fee(transaction.getTransactionFee())
+                .fromCurrency(transaction.getFromCurrency())
+                .toCurrency(transaction.getToCurrency())
+                .timestamp(transaction.getCreatedAt())
+                .build();
+    }
+
+    public static TransferResponse failed(String message) {
+        return TransferResponse.builder()
+                .status(TransactionStatus.FAILED)
+                .message(message)
+                .build();
+    }
+
+    public static BalanceEvent balanceEvent(UUID accountId, BigDecimal balance, String currency, long version,
+                                            UUID transactionId, Instant timestamp) {
+        return BalanceEvent.builder()
+                .accountId(accountId)
+                .balance(balance)
+                .currency(currency)
+                .transactionId(transactionId)
+                .timestamp(timestamp)
+                .version(version)
+                .build();
+    }
+}
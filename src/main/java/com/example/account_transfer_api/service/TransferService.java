@@ -1,19 +1,35 @@
 package com.example.account_transfer_api.service;
 
+import com.example.account_transfer_api.diagnostics.LockContentionMonitor;
+import com.example.account_transfer_api.dto.BalanceEvent;
 import com.example.account_transfer_api.dto.TransferRequest;
 import com.example.account_transfer_api.dto.TransferResponse;
 import com.example.account_transfer_api.entity.Account;
 import com.example.account_transfer_api.entity.Transaction;
 import com.example.account_transfer_api.enums.TransactionStatus;
+import com.example.account_transfer_api.repository.AccountBalanceView;
 import com.example.account_transfer_api.repository.AccountRepository;
 import com.example.account_transfer_api.repository.TransactionRepository;
+import com.example.account_transfer_api.rules.TransferRuleEngine;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
 
 @Service
 @Slf4j
@@ -23,99 +39,316 @@ public class TransferService {
     private final TransactionRepository transactionRepository;
     private final FxRateService fxRateService;
     private final FeeConfigService feeConfigService;
+    private final TransferRuleEngine transferRuleEngine;
+    private final LockContentionMonitor lockContentionMonitor;
+    private final ApplicationEventPublisher eventPublisher;
+    // Switchable so the load suite can compare throughput with and without the unlocked pre-check
+    private final boolean preValidationEnabled;
 
     public TransferService(AccountRepository accountRepository,
                            TransactionRepository transactionRepository,
                            FxRateService fxRateService,
-                           FeeConfigService feeConfigService) {
+                           FeeConfigService feeConfigService,
+                           TransferRuleEngine transferRuleEngine,
+                           LockContentionMonitor lockContentionMonitor,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${transfer.pre-validation.enabled:true}") boolean preValidationEnabled) {
         this.accountRepository = accountRepository;
         this.transactionRepository = transactionRepository;
         this.fxRateService = fxRateService;
         this.feeConfigService = feeConfigService;
+        this.transferRuleEngine = transferRuleEngine;
+        this.lockContentionMonitor = lockContentionMonitor;
+        this.eventPublisher = eventPublisher;
+        this.preValidationEnabled = preValidationEnabled;
     }
 
     @Transactional
     public TransferResponse transferMoney(TransferRequest request) {
 
-        Account fromAccount = accountRepository.findByIdWithLock(request.getFromAccountId())
-                .orElseThrow(() -> new IllegalArgumentException("Source account not found"));
-        Account toAccount = accountRepository.findByIdWithLock(request.getToAccountId())
-                .orElseThrow(() -> new IllegalArgumentException("Destination account not found"));
-
-        if(fromAccount.getId().equals(toAccount.getId())) {
+        if (request.getFromAccountId().equals(request.getToAccountId())) {
             throw new IllegalStateException("Source account and Destination account are the same.");
         }
 
         BigDecimal amountToTransfer = request.getAmount().setScale(2, RoundingMode.HALF_UP);
+        // Effective time of the transfer; the FX rate is looked up for this instant in both stages
+        Instant now = Instant.now();
 
-        // Convert currency
-        BigDecimal fxConvertedAmount;
-        try {
-            fxConvertedAmount = convertCurrency(amountToTransfer, fromAccount.getCurrency(), toAccount.getCurrency());
-        } catch (IllegalArgumentException e) {
-            log.error(e.getMessage());
-            return TransferResponse.builder()
-                    .status(TransactionStatus.FAILED)
-                    .message("FX rate not found for transfer")
-                    .build();
+        // Velocity rules only read in-memory counters, so they run first
+        Optional<String> ruleViolation = transferRuleEngine.evaluate(request.getFromAccountId(), request.getToAccountId(), amountToTransfer);
+        if (ruleViolation.isPresent()) {
+            return TransferResults.failed(ruleViolation.get());
         }
 
         // Calculate fee
         BigDecimal fee = calculateFee(amountToTransfer);
         BigDecimal totalDebit = amountToTransfer.add(fee);
 
-        // Check balance
+        // Reject requests that cannot succeed before they queue on the row locks
+        if (preValidationEnabled) {
+            TransferResponse rejection = preValidate(request, totalDebit, now);
+            if (rejection != null) {
+                return rejection;
+            }
+        }
+
+        // Lock in account id order so opposing transfers (A -> B and B -> A) cannot deadlock
+        Account fromAccount;
+        Account toAccount;
+        if (request.getFromAccountId().compareTo(request.getToAccountId()) < 0) {
+            fromAccount = lockAccount(request.getFromAccountId(), "Source account not found");
+            toAccount = lockAccount(request.getToAccountId(), "Destination account not found");
+        } else {
+            toAccount = lockAccount(request.getToAccountId(), "Destination account not found");
+            fromAccount = lockAccount(request.getFromAccountId(), "Source account not found");
+        }
+
+        // Convert currency
+        FxQuote fxQuote;
+        try {
+            fxQuote = quoteFor(fromAccount.getCurrency(), toAccount.getCurrency(), now);
+        } catch (IllegalArgumentException e) {
+            log.error(e.getMessage());
+            return TransferResults.failed("FX rate not found for transfer");
+        }
+        BigDecimal fxConvertedAmount = TransferResults.convert(amountToTransfer, fxQuote);
+
+        // Re-check balance now that the rows are locked
         if (fromAccount.getBalance().compareTo(totalDebit) < 0) {
-            return TransferResponse.builder()
-                    .status(TransactionStatus.FAILED)
-                    .message("Insufficient funds")
-                    .build();
+            return TransferResults.failed("Insufficient funds");
         }
 
         // Update balances
-        fromAccount.setBalance(fromAccount.getBalance().subtract(totalDebit));
-        toAccount.setBalance(toAccount.getBalance().add(fxConvertedAmount));
+        updateBalance(fromAccount, fromAccount.getBalance().subtract(totalDebit));
+        updateBalance(toAccount, toAccount.getBalance().add(fxConvertedAmount));
 
         accountRepository.save(fromAccount);
         accountRepository.save(toAccount);
 
-        Transaction transaction =  Transaction.builder()
-                .fromAccountId(fromAccount.getId())
-                .toAccountId(toAccount.getId())
-                .amountDebited(amountToTransfer)
-                .amountCredited(fxConvertedAmount)
-                .fromCurrency(fromAccount.getCurrency())
-                .toCurrency(toAccount.getCurrency())
-                .transactionFee(fee)
-                .status(TransactionStatus.SUCCESS.name())
-                .build();
+        Transaction transaction = successfulTransaction(fromAccount, toAccount, amountToTransfer, fxConvertedAmount, fee, fxQuote, now);
 
         transactionRepository.save(transaction);
+        afterCommit(() -> transferRuleEngine.record(request.getFromAccountId(), request.getToAccountId(), amountToTransfer));
 
+        // Delivered to BalanceEventBus subscribers once the transaction commits
+        eventPublisher.publishEvent(balanceEvent(fromAccount, transaction));
+        eventPublisher.publishEvent(balanceEvent(toAccount, transaction));
 
-        return TransferResponse.builder()
-                .transactionId(transaction.getId())
-                .status(TransactionStatus.SUCCESS)
-                .message("Successful transfer")
-                .amountDebited(transaction.getAmountDebited())
-                .amountCredited(transaction.getAmountCredited())
-                .fee(transaction.getTransactionFee())
-                .fromCurrency(transaction.getFromCurrency())
-                .toCurrency(transaction.getToCurrency())
-                .timestamp(Instant.now())
-                .build();
+        return TransferResults.successResponse(transaction);
     }
 
-    private BigDecimal convertCurrency(BigDecimal amount, String fromCurrency, String toCurrency) {
+    /**
+     * Settles a window of transfers collected by {@link NetSettlementClearingService} in one database
+     * transaction. Requests are applied in order against running in-memory balances and velocity rule
+     * state, so each one sees the effect of those before it, exactly as if they had run one by one.
+     * An invalid request fails on its own and never fails the batch. Every involved account is
+     * locked once, in id order, and written once with its net balance; offsetting transfers between
+     * the same accounts therefore cost no extra row updates. All transaction rows go in one batched insert.
+     *
+     * @return one outcome per request, in request order
+     */
+    @Transactional
+    public List<SettlementOutcome> settleBatch(List<TransferRequest> requests) {
+        Instant now = Instant.now();
+        BigDecimal feePercentage = feeConfigService.getGlobalFeePercentage();
+        SettlementOutcome[] outcomes = new SettlementOutcome[requests.size()];
+        BigDecimal[] amounts = new BigDecimal[requests.size()];
+
+        // Checks that need no account data, before any lock is taken
+        Set<UUID> accountIds = new TreeSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest request = requests.get(i);
+            if (request == null || request.getFromAccountId() == null || request.getToAccountId() == null
+                    || request.getAmount() == null) {
+                outcomes[i] = SettlementOutcome.error(new IllegalArgumentException("Source account, Destination account and amount are required"));
+                continue;
+            }
+            if (request.getFromAccountId().equals(request.getToAccountId())) {
+                outcomes[i] = SettlementOutcome.error(new IllegalStateException("Source account and Destination account are the same."));
+                continue;
+            }
+            amounts[i] = request.getAmount().setScale(2, RoundingMode.HALF_UP);
+            accountIds.add(request.getFromAccountId());
+            accountIds.add(request.getToAccountId());
+        }
+
+        // TreeSet iteration order is the same global lock order transferMoney uses
+        Map<UUID, Account> accounts = new HashMap<>();
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        for (UUID accountId : accountIds) {
+            findLocked(accountId).ifPresent(account -> {
+                accounts.put(accountId, account);
+                balances.put(accountId, account.getBalance());
+            });
+        }
+
+        TransferRuleEngine.RuleBatch ruleBatch = transferRuleEngine.newBatch();
+        List<Transaction> transactions = new ArrayList<>();
+        Transaction[] transactionByRequest = new Transaction[requests.size()];
+        Map<UUID, Transaction> lastTransactionByAccount = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (outcomes[i] != null) {
+                continue;
+            }
+            TransferRequest request = requests.get(i);
+            // Evaluated here rather than before locking so that it sees the transfers accepted before it
+            Optional<String> ruleViolation = ruleBatch.evaluate(request.getFromAccountId(), request.getToAccountId(), amounts[i]);
+            if (ruleViolation.isPresent()) {
+                outcomes[i] = SettlementOutcome.of(TransferResults.failed(ruleViolation.get()));
+                continue;
+            }
+            Account fromAccount = accounts.get(request.getFromAccountId());
+            Account toAccount = accounts.get(request.getToAccountId());
+            if (fromAccount == null) {
+                outcomes[i] = SettlementOutcome.error(new IllegalArgumentException("Source account not found"));
+                continue;
+            }
+            if (toAccount == null) {
+                outcomes[i] = SettlementOutcome.error(new IllegalArgumentException("Destination account not found"));
+                continue;
+            }
+
+            FxQuote fxQuote;
+            try {
+                fxQuote = quoteFor(fromAccount.getCurrency(), toAccount.getCurrency(), now);
+            } catch (IllegalArgumentException e) {
+                log.error(e.getMessage());
+                outcomes[i] = SettlementOutcome.of(TransferResults.failed("FX rate not found for transfer"));
+                continue;
+            }
+            BigDecimal fee = TransferResults.fee(amounts[i], feePercentage);
+            BigDecimal totalDebit = amounts[i].add(fee);
+            BigDecimal fxConvertedAmount = TransferResults.convert(amounts[i], fxQuote);
+
+            if (balances.get(fromAccount.getId()).compareTo(totalDebit) < 0) {
+                outcomes[i] = SettlementOutcome.of(TransferResults.failed("Insufficient funds"));
+                continue;
+            }
+            balances.merge(fromAccount.getId(), totalDebit.negate(), BigDecimal::add);
+            balances.merge(toAccount.getId(), fxConvertedAmount, BigDecimal::add);
+            ruleBatch.accept(fromAccount.getId(), toAccount.getId(), amounts[i]);
+
+            Transaction transaction = successfulTransaction(fromAccount, toAccount, amounts[i], fxConvertedAmount, fee, fxQuote, now);
+            transactions.add(transaction);
+            transactionByRequest[i] = transaction;
+            lastTransactionByAccount.put(fromAccount.getId(), transaction);
+            lastTransactionByAccount.put(toAccount.getId(), transaction);
+        }
+
+        // One update per account with its net movement; accounts whose flows cancel out are not written
+        List<Account> changedAccounts = new ArrayList<>();
+        for (Account account : accounts.values()) {
+            BigDecimal netBalance = balances.get(account.getId());
+            if (netBalance.compareTo(account.getBalance()) != 0) {
+                updateBalance(account, netBalance);
+                changedAccounts.add(account);
+            }
+        }
+        accountRepository.saveAll(changedAccounts);
+        transactionRepository.saveAll(transactions);
+
+        for (Map.Entry<UUID, Transaction> entry : lastTransactionByAccount.entrySet()) {
+            eventPublisher.publishEvent(balanceEvent(accounts.get(entry.getKey()), entry.getValue()));
+        }
+        afterCommit(() -> transactions.forEach(t -> transferRuleEngine.record(t.getFromAccountId(), t.getToAccountId(), t.getAmountDebited())));
+
+        for (int i = 0; i < requests.size(); i++) {
+            if (transactionByRequest[i] != null) {
+                outcomes[i] = SettlementOutcome.of(TransferResults.successResponse(transactionByRequest[i]));
+            }
+        }
+        return List.of(outcomes);
+    }
+
+    /**
+     * Validates the request against an unlocked snapshot of both accounts. A concurrent debit that
+     * commits after the snapshot is caught by the re-check under lock; a concurrent credit may lead to
+     * a rejection here, which is the same outcome as this request having been ordered before it.
+     *
+     * @return a FAILED response, or {@code null} if the request may proceed to the locked section
+     */
+    private TransferResponse preValidate(TransferRequest request, BigDecimal totalDebit, Instant now) {
+        // One round trip for both accounts; this query is the whole cost pre-validation adds to a success
+        AccountBalanceView fromAccount = null;
+        AccountBalanceView toAccount = null;
+        for (AccountBalanceView view : accountRepository.findBalanceViewsByIdIn(
+                List.of(request.getFromAccountId(), request.getToAccountId()))) {
+            if (view.getId().equals(request.getFromAccountId())) {
+                fromAccount = view;
+            } else {
+                toAccount = view;
+            }
+        }
+        if (fromAccount == null) {
+            throw new IllegalArgumentException("Source account not found");
+        }
+        if (toAccount == null) {
+            throw new IllegalArgumentException("Destination account not found");
+        }
+
+        try {
+            quoteFor(fromAccount.getCurrency(), toAccount.getCurrency(), now);
+        } catch (IllegalArgumentException e) {
+            log.error(e.getMessage());
+            return TransferResults.failed("FX rate not found for transfer");
+        }
+
+        if (fromAccount.getBalance().compareTo(totalDebit) < 0) {
+            return TransferResults.failed("Insufficient funds");
+        }
+        return null;
+    }
+
+    private Account lockAccount(UUID accountId, String notFoundMessage) {
+        return findLocked(accountId)
+                .orElseThrow(() -> new IllegalArgumentException(notFoundMessage));
+    }
+
+    private Optional<Account> findLocked(UUID accountId) {
+        // Sampled time includes the locking query itself, which is negligible next to a contended wait
+        long start = System.nanoTime();
+        Optional<Account> account = accountRepository.findByIdWithLock(accountId);
+        lockContentionMonitor.record(accountId, System.nanoTime() - start);
+        return account;
+    }
+
+    private Transaction successfulTransaction(Account fromAccount, Account toAccount, BigDecimal amountDebited,
+                                              BigDecimal amountCredited, BigDecimal fee, FxQuote fxQuote, Instant now) {
+        return TransferResults.transaction(fromAccount.getId(), fromAccount.getCurrency(), toAccount.getId(),
+                toAccount.getCurrency(), amountDebited, amountCredited, fee, fxQuote, now, TransactionStatus.SUCCESS);
+    }
+
+    private BalanceEvent balanceEvent(Account account, Transaction transaction) {
+        return TransferResults.balanceEvent(account.getId(), account.getBalance(), account.getCurrency(),
+                account.getBalanceVersion(), transaction.getId(), transaction.getCreatedAt());
+    }
+
+    private void updateBalance(Account account, BigDecimal balance) {
+        account.setBalance(balance);
+        account.setBalanceVersion(account.getBalanceVersion() + 1);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private FxQuote quoteFor(String fromCurrency, String toCurrency, Instant at) {
         if (fromCurrency.equalsIgnoreCase(toCurrency)) {
-            return amount.setScale(2, RoundingMode.HALF_UP);
+            return FxQuote.identity();
         }
-        BigDecimal rate = fxRateService.getRate(fromCurrency, toCurrency);
-        return amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+        return fxRateService.getQuote(fromCurrency, toCurrency, at);
     }
 
     private BigDecimal calculateFee(BigDecimal amount) {
-        BigDecimal feePercentage = feeConfigService.getGlobalFeePercentage();
-        return amount.multiply(feePercentage).setScale(2, RoundingMode.HALF_UP);
+        return TransferResults.fee(amount, feeConfigService.getGlobalFeePercentage());
     }
 }
\ No newline at end of file
@@ -4,9 +4,9 @@ INSERT INTO accounts (id, name, balance, currency) VALUES
 ('22222222-2222-2222-2222-222222222222', 'Bob', 500.00, 'AUD');
 
 -- Seed FX rates
-INSERT INTO fx_rates (from_currency, to_currency, rate) VALUES
-('USD','AUD',2.0),
-('AUD','USD',0.5);
+INSERT INTO fx_rates (from_currency, to_currency, rate, valid_from) VALUES
+('USD','AUD',2.0,TIMESTAMP WITH TIME ZONE '1970-01-01 00:00:00+00'),
+('AUD','USD',0.5,TIMESTAMP WITH TIME ZONE '1970-01-01 00:00:00+00');
 
 -- Seed fee config
 INSERT INTO fee_config (global_fee_percentage) VALUES (0.01);
@@ -2,7 +2,9 @@ CREATE TABLE accounts (
     id UUID PRIMARY KEY,
     name VARCHAR(100) NOT NULL,
     balance DECIMAL(19,2) NOT NULL,
-    currency VARCHAR(3) NOT NULL
+    currency VARCHAR(3) NOT NULL,
+    -- Incremented with every balance change, under the row lock; orders balance events
+    balance_version BIGINT DEFAULT 0 NOT NULL
 );
 
 CREATE TABLE transactions (
@@ -14,14 +16,51 @@ CREATE TABLE transactions (
     from_currency VARCHAR(3) NOT NULL,
     to_currency VARCHAR(3) NOT NULL,
     transaction_fee DECIMAL(19,2) NOT NULL,
-    status VARCHAR(20) NOT NULL
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    fx_rate_id BIGINT
+);
+
+CREATE INDEX idx_transactions_created_at ON transactions (created_at);
+CREATE INDEX idx_transactions_from_account ON transactions (from_account_id);
+CREATE INDEX idx_transactions_to_account ON transactions (to_account_id);
+-- Clustered mode: recovery looks up cross-node transfers stuck in PENDING or COMMITTING
+CREATE INDEX idx_transactions_status ON transactions (status, created_at);
+
+-- Cold tier: rows older than the retention window are moved here by TransactionArchiveScheduler
+CREATE TABLE transactions_archive (
+    id UUID PRIMARY KEY,
+    from_account_id UUID NOT NULL,
+    to_account_id UUID NOT NULL,
+    amount_debited DECIMAL(19,2) NOT NULL,
+    amount_credited DECIMAL(19,2) NOT NULL,
+    from_currency VARCHAR(3) NOT NULL,
+    to_currency VARCHAR(3) NOT NULL,
+    transaction_fee DECIMAL(19,2) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    fx_rate_id BIGINT
+);
+
+CREATE INDEX idx_transactions_archive_from_account ON transactions_archive (from_account_id, created_at);
+CREATE INDEX idx_transactions_archive_to_account ON transactions_archive (to_account_id, created_at);
+
+-- Clustered mode: credits of cross-node transfers, written by the node owning the destination account
+CREATE TABLE cluster_credits (
+    transaction_id UUID PRIMARY KEY,
+    account_id UUID NOT NULL,
+    amount DECIMAL(19,2) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
 );
 
 CREATE TABLE fx_rates (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
     from_currency VARCHAR(3) NOT NULL,
     to_currency VARCHAR(3) NOT NULL,
-    rate DECIMAL(19,4) NOT NULL
+    rate DECIMAL(19,4) NOT NULL,
+    valid_from TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_fx_rates_pair_valid_from UNIQUE (from_currency, to_currency, valid_from)
 );
 
 -- FEE_CONFIG TABLE
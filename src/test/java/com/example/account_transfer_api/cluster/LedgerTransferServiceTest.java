@@ -0,0 +1,163 @@
+package com.example.account_transfer_api.cluster;
+
+import com.example.account_transfer_api.dto.TransferRequest;
+import com.example.account_transfer_api.dto.TransferResponse;
+import com.example.account_transfer_api.entity.Transaction;
+import com.example.account_transfer_api.enums.TransactionStatus;
+import com.example.account_transfer_api.repository.AccountBalanceView;
+import com.example.account_transfer_api.repository.AccountRepository;
+import com.example.account_transfer_api.rules.TransferRuleEngine;
+import com.example.account_transfer_api.service.FeeConfigService;
+import com.example.account_transfer_api.service.FxQuote;
+import com.example.account_transfer_api.service.FxRateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LedgerTransferServiceTest {
+
+    private PartitionRouter partitionRouter;
+    private AccountRepository accountRepository;
+    private ClusterLedgerStore clusterLedgerStore;
+    private ClusterCreditClient clusterCreditClient;
+    private TransferRuleEngine transferRuleEngine;
+    private LedgerTransferService ledgerTransferService;
+
+    @BeforeEach
+    void setUp() {
+        ClusterProperties clusterProperties = new ClusterProperties();
+        clusterProperties.setEnabled(true);
+        clusterProperties.setNodes(List.of("http://a", "http://b"));
+        clusterProperties.setNodeIndex(0);
+        partitionRouter = new PartitionRouter(clusterProperties);
+
+        accountRepository = mock(AccountRepository.class);
+        clusterLedgerStore = mock(ClusterLedgerStore.class);
+        clusterCreditClient = mock(ClusterCreditClient.class);
+        transferRuleEngine = mock(TransferRuleEngine.class);
+        FxRateService fxRateService = mock(FxRateService.class);
+        FeeConfigService feeConfigService = mock(FeeConfigService.class);
+
+        when(fxRateService.getQuote(anyString(), anyString(), any())).thenReturn(FxQuote.identity());
+        when(feeConfigService.getGlobalFeePercentage()).thenReturn(new BigDecimal("0.01"));
+        when(transferRuleEngine.evaluate(any(), any(), any())).thenReturn(Optional.empty());
+        doAnswer(invocation -> {
+            invocation.getArgument(4, Transaction.class).setId(UUID.randomUUID());
+            return null;
+        }).when(clusterLedgerStore).transferWithinNode(any(), any(), any(), any(), any());
+        doAnswer(invocation -> {
+            invocation.getArgument(2, Transaction.class).setId(UUID.randomUUID());
+            return null;
+        }).when(clusterLedgerStore).reserve(any(), any(), any());
+
+        ledgerTransferService = new LedgerTransferService(partitionRouter,
+                new OwnedAccountLedger(accountRepository, new AccountLockStripes()), clusterLedgerStore,
+                clusterCreditClient, accountRepository, fxRateService, feeConfigService, transferRuleEngine);
+    }
+
+    @Test
+    void testTransferWithinNodeValidatesAgainstLedger() {
+        UUID aliceId = accountOwnedBy(0, "150.00");
+        UUID bobId = accountOwnedBy(0, "500.00");
+
+        TransferResponse first = ledgerTransferService.transfer(new TransferRequest(aliceId, bobId, new BigDecimal("100.00")));
+        TransferResponse second = ledgerTransferService.transfer(new TransferRequest(aliceId, bobId, new BigDecimal("100.00")));
+
+        assertThat(first.getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        // 49.00 left in memory, so the second transfer is rejected without touching the database
+        assertThat(second.getStatus()).isEqualTo(TransactionStatus.FAILED);
+        assertThat(second.getMessage()).isEqualTo("Insufficient funds");
+        verify(clusterLedgerStore, times(1)).transferWithinNode(any(), eq(new BigDecimal("49.00")), any(), eq(new BigDecimal("600.00")), any());
+        verify(accountRepository, times(1)).findBalanceViewById(aliceId);
+        verify(transferRuleEngine, times(1)).record(aliceId, bobId, new BigDecimal("100.00"));
+    }
+
+    @Test
+    void testStaleLedgerIsReloadedAndRetried() {
+        UUID aliceId = accountOwnedBy(0, "1000.00");
+        UUID bobId = accountOwnedBy(0, "500.00");
+        doThrow(new StaleLedgerException(aliceId))
+                .doAnswer(invocation -> {
+                    invocation.getArgument(4, Transaction.class).setId(UUID.randomUUID());
+                    return null;
+                })
+                .when(clusterLedgerStore).transferWithinNode(any(), any(), any(), any(), any());
+
+        TransferResponse response = ledgerTransferService.transfer(new TransferRequest(aliceId, bobId, new BigDecimal("100.00")));
+
+        assertThat(response.getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        verify(accountRepository, times(2)).findBalanceViewById(aliceId);
+        verify(clusterLedgerStore, times(2)).transferWithinNode(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testTransferAcrossNodesCommitsAfterPrepare() {
+        UUID aliceId = accountOwnedBy(0, "1000.00");
+        UUID bobId = accountOwnedBy(1, "500.00");
+        when(clusterCreditClient.prepare(eq("http://b"), any(), any())).thenReturn(true);
+        when(clusterCreditClient.commit(eq("http://b"), any(), any())).thenReturn(true);
+        when(clusterLedgerStore.markStatus(any(), any(), any())).thenReturn(true);
+
+        TransferResponse response = ledgerTransferService.transfer(new TransferRequest(aliceId, bobId, new BigDecimal("100.00")));
+
+        assertThat(response.getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        ArgumentCaptor<Transaction> reserved = ArgumentCaptor.forClass(Transaction.class);
+        InOrder inOrder = inOrder(clusterLedgerStore, clusterCreditClient);
+        inOrder.verify(clusterLedgerStore).reserve(any(), eq(new BigDecimal("899.00")), reserved.capture());
+        inOrder.verify(clusterCreditClient).prepare(eq("http://b"), eq(response.getTransactionId()), any());
+        inOrder.verify(clusterLedgerStore).markStatus(response.getTransactionId(), TransactionStatus.PENDING, TransactionStatus.COMMITTING);
+        inOrder.verify(clusterCreditClient).commit(eq("http://b"), eq(response.getTransactionId()), any());
+        inOrder.verify(clusterLedgerStore).markStatus(response.getTransactionId(), TransactionStatus.COMMITTING, TransactionStatus.SUCCESS);
+        assertThat(reserved.getValue().getStatus()).isEqualTo(TransactionStatus.PENDING.name());
+        verify(clusterCreditClient, never()).abort(any(), any(), any());
+    }
+
+    @Test
+    void testRefusedPrepareRefundsSource() {
+        UUID aliceId = accountOwnedBy(0, "1000.00");
+        UUID bobId = accountOwnedBy(1, "500.00");
+        when(clusterCreditClient.prepare(any(), any(), any())).thenReturn(false);
+        when(clusterLedgerStore.refund(any(), any(), any())).thenReturn(true);
+
+        TransferResponse response = ledgerTransferService.transfer(new TransferRequest(aliceId, bobId, new BigDecimal("100.00")));
+
+        assertThat(response.getStatus()).isEqualTo(TransactionStatus.FAILED);
+        verify(clusterLedgerStore).refund(any(), eq(new BigDecimal("1000.00")), any());
+        verify(clusterCreditClient).abort(eq("http://b"), any(), any());
+        verify(clusterCreditClient, never()).commit(any(), any(), any());
+        verify(transferRuleEngine, never()).record(any(), any(), any());
+
+        // The refund was applied to the ledger: the full balance can be reserved again
+        when(clusterCreditClient.prepare(any(), any(), any())).thenReturn(true);
+        when(clusterLedgerStore.markStatus(any(), any(), any())).thenReturn(true);
+        TransferResponse retry = ledgerTransferService.transfer(new TransferRequest(aliceId, bobId, new BigDecimal("990.00")));
+        assertThat(retry.getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+    }
+
+    private UUID accountOwnedBy(int nodeIndex, String balance) {
+        UUID accountId;
+        do {
+            accountId = UUID.randomUUID();
+        } while (partitionRouter.ownerOf(accountId) != nodeIndex);
+
+        AccountBalanceView view = mock(AccountBalanceView.class);
+        when(view.getId()).thenReturn(accountId);
+        when(view.getBalance()).thenReturn(new BigDecimal(balance));
+        when(view.getCurrency()).thenReturn("USD");
+        when(view.getBalanceVersion()).thenReturn(0L);
+        when(accountRepository.findBalanceViewById(accountId)).thenReturn(Optional.of(view));
+        return accountId;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.account_transfer_api.diagnostics;
+
+import com.example.account_transfer_api.dto.LockContentionDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LockContentionMonitorTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    void testHotAccountSurvivesManyColdAccounts() {
+        LockContentionMonitor monitor = new LockContentionMonitor(8, 1.0);
+        UUID hot = UUID.randomUUID();
+
+        for (int i = 0; i < 1_000; i++) {
+            monitor.record(hot, 5 * MILLI);
+            monitor.record(UUID.randomUUID(), MILLI / 10);
+        }
+
+        List<LockContentionDTO> top = monitor.topContended(3);
+
+        assertThat(top).hasSize(3);
+        assertThat(top.get(0).getAccountId()).isEqualTo(hot);
+        assertThat(top.get(0).getSamples()).isEqualTo(1_000);
+    }
+
+    @Test
+    void testRareLongWaitsOutrankFrequentUncontendedLocks() {
+        LockContentionMonitor monitor = new LockContentionMonitor(8, 1.0);
+        UUID rare = UUID.randomUUID();
+        List<UUID> busy = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            busy.add(UUID.randomUUID());
+        }
+
+        for (int round = 0; round < 1_000; round++) {
+            if (round % 200 == 0) {
+                monitor.record(rare, 200 * MILLI);
+            }
+            for (UUID account : busy) {
+                monitor.record(account, 1_000);
+            }
+        }
+
+        LockContentionDTO top = monitor.topContended(1).get(0);
+        assertThat(top.getAccountId()).isEqualTo(rare);
+        assertThat(top.getSamples()).isEqualTo(5);
+    }
+
+    @Test
+    void testConcurrentRecordingLosesNoSamples() throws Exception {
+        LockContentionMonitor monitor = new LockContentionMonitor(128, 1.0);
+        List<UUID> accounts = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    monitor.record(accounts.get(i % accounts.size()), MILLI);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(monitor.topContended(10)).hasSize(4)
+                .allSatisfy(stats -> assertThat(stats.getSamples()).isEqualTo(20_000));
+    }
+
+    @Test
+    void testWaitTimePercentiles() {
+        LockContentionMonitor monitor = new LockContentionMonitor(8, 1.0);
+        UUID account = UUID.randomUUID();
+
+        for (int i = 1; i <= 100; i++) {
+            monitor.record(account, i * MILLI);
+        }
+
+        LockContentionDTO stats = monitor.topContended(1).get(0);
+
+        assertThat(stats.getSamples()).isEqualTo(100);
+        assertThat(stats.getTotalWaitErrorMillis()).isZero();
+        assertThat(stats.getTotalWaitMillis()).isCloseTo(5050.0, within(0.001));
+        assertThat(stats.getMaxWaitMillis()).isCloseTo(100.0, within(0.001));
+        // Buckets are at most 25% wide, percentiles are reported as bucket upper bounds
+        assertThat(stats.getP50WaitMillis()).isBetween(50.0, 62.5);
+        assertThat(stats.getP99WaitMillis()).isBetween(99.0, 100.0);
+    }
+
+    @Test
+    void testZeroCapacityDisablesMonitor() {
+        LockContentionMonitor monitor = new LockContentionMonitor(0, 1.0);
+
+        monitor.record(UUID.randomUUID(), MILLI);
+        monitor.record(UUID.randomUUID(), MILLI);
+
+        assertThat(monitor.topContended(10)).isEmpty();
+    }
+
+    @Test
+    void testReset() {
+        LockContentionMonitor monitor = new LockContentionMonitor(8, 1.0);
+        monitor.record(UUID.randomUUID(), MILLI);
+
+        monitor.reset();
+
+        assertThat(monitor.topContended(10)).isEmpty();
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.account_transfer_api.integration;
+
+import com.example.account_transfer_api.AccountTransferApiApplication;
+import com.example.account_transfer_api.cluster.PartitionRouter;
+import com.example.account_transfer_api.dto.AccountDTO;
+import com.example.account_transfer_api.dto.CreditRequest;
+import com.example.account_transfer_api.dto.TransferRequest;
+import com.example.account_transfer_api.dto.TransferResponse;
+import com.example.account_transfer_api.enums.ClusterCreditStatus;
+import com.example.account_transfer_api.enums.TransactionStatus;
+import com.example.account_transfer_api.repository.ClusterCreditRepository;
+import com.example.account_transfer_api.repository.TransactionRepository;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts two nodes in clustered mode in this JVM, sharing one in-memory H2 database,
+ * and checks routing, node-owned balances, two-phase cross-node transfers and balance conservation
+ * across partition owners.
+ */
+public class ClusterTransferIT {
+
+    private static final int NODE_COUNT = 2;
+    private static final BigDecimal feePercentage = new BigDecimal("0.01"); // 1% fee
+
+    private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private static final List<Integer> ports = new ArrayList<>();
+
+    @BeforeAll
+    static void startCluster() throws IOException {
+        for (int i = 0; i < NODE_COUNT; i++) {
+            ports.add(freePort());
+        }
+        String nodeUrls = String.join(",", ports.stream().map(p -> "http://localhost:" + p).toList());
+
+        for (int i = 0; i < NODE_COUNT; i++) {
+            nodes.add(new SpringApplicationBuilder(AccountTransferApiApplication.class)
+                    .run(
+                            "--server.port=" + ports.get(i),
+                            "--spring.datasource.url=jdbc:h2:mem:cluster;DB_CLOSE_DELAY=-1",
+                            // Only the first node creates and seeds the shared schema
+                            "--spring.sql.init.mode=" + (i == 0 ? "always" : "never"),
+                            "--spring.jpa.show-sql=false",
+                            "--transactions.archive.enabled=false",
+                            "--cluster.enabled=true",
+                            "--cluster.node-index=" + i,
+                            "--cluster.nodes=" + nodeUrls));
+        }
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            nodes.get(i).close();
+        }
+    }
+
+    /**
+     * A transfer sent to a node that does not own the source account is forwarded to the owner
+     * and completes exactly once.
+     */
+    @Test
+    void testTransferSentToNonOwnerIsForwarded() {
+        PartitionRouter router = nodes.get(0).getBean(PartitionRouter.class);
+        AccountDTO from = createAccountOwnedBy(router, 1);
+        AccountDTO to = createAccountOwnedBy(router, 0);
+
+        BigDecimal amount = new BigDecimal("100.00");
+        TransferResponse resp = doTransfer(ports.get(0), from.getId(), to.getId(), amount);
+
+        BigDecimal fee = amount.multiply(feePercentage).setScale(2, RoundingMode.HALF_UP);
+        assertThat(resp.getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        assertThat(getBalance(ports.get(0), from.getId())).isEqualByComparingTo(new BigDecimal("1000.00").subtract(amount).subtract(fee));
+        assertThat(getBalance(ports.get(1), to.getId())).isEqualByComparingTo(new BigDecimal("1000.00").add(amount));
+    }
+
+    /**
+     * Both accounts owned by one node: the transfer completes on that node without any cross-node message.
+     */
+    @Test
+    void testTransferWithinNode() {
+        PartitionRouter router = nodes.get(0).getBean(PartitionRouter.class);
+        AccountDTO from = createAccountOwnedBy(router, 1);
+        AccountDTO to = createAccountOwnedBy(router, 1);
+
+        TransferResponse resp = doTransfer(ports.get(1), from.getId(), to.getId(), new BigDecimal("100.00"));
+
+        assertThat(resp.getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        assertThat(nodes.get(0).getBean(ClusterCreditRepository.class).findById(resp.getTransactionId())).isEmpty();
+        assertThat(getBalance(ports.get(0), from.getId())).isEqualByComparingTo(new BigDecimal("899.00"));
+        assertThat(getBalance(ports.get(0), to.getId())).isEqualByComparingTo(new BigDecimal("1100.00"));
+    }
+
+    /**
+     * A cross-node transfer ends {@code SUCCESS} on the source side and {@code COMMITTED} on the destination side.
+     */
+    @Test
+    void testTransferAcrossNodesIsCommittedOnBothSides() {
+        PartitionRouter router = nodes.get(0).getBean(PartitionRouter.class);
+        AccountDTO from = createAccountOwnedBy(router, 0);
+        AccountDTO to = createAccountOwnedBy(router, 1);
+
+        TransferResponse resp = doTransfer(ports.get(0), from.getId(), to.getId(), new BigDecimal("100.00"));
+
+        assertThat(resp.getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        assertThat(nodes.get(0).getBean(TransactionRepository.class).findById(resp.getTransactionId()))
+                .hasValueSatisfying(tx -> assertThat(tx.getStatus()).isEqualTo(TransactionStatus.SUCCESS.name()));
+        assertThat(nodes.get(1).getBean(ClusterCreditRepository.class).findById(resp.getTransactionId()))
+                .hasValueSatisfying(credit -> assertThat(credit.getStatus()).isEqualTo(ClusterCreditStatus.COMMITTED.name()));
+        assertThat(getBalance(ports.get(1), to.getId())).isEqualByComparingTo(new BigDecimal("1100.00"));
+    }
+
+    /**
+     * A repeated COMMIT, as sent by recovery after a lost acknowledgement, applies the credit only once.
+     */
+    @Test
+    void testRepeatedCommitCreditsOnce() {
+        PartitionRouter router = nodes.get(0).getBean(PartitionRouter.class);
+        AccountDTO to = createAccountOwnedBy(router, 1);
+        UUID transactionId = UUID.randomUUID();
+        CreditRequest credit = new CreditRequest(to.getId(), "USD", new BigDecimal("50.00"));
+
+        sendCredit(ports.get(1), transactionId, "PUT", "", credit, 200);
+        sendCredit(ports.get(1), transactionId, "POST", "/commit", credit, 200);
+        sendCredit(ports.get(1), transactionId, "POST", "/commit", credit, 200);
+
+        assertThat(getBalance(ports.get(1), to.getId())).isEqualByComparingTo(new BigDecimal("1050.00"));
+    }
+
+    /**
+     * An ABORT that overtakes its PREPARE fences it, so the credit can never be committed.
+     */
+    @Test
+    void testAbortBeforePrepareRefusesPrepare() {
+        PartitionRouter router = nodes.get(0).getBean(PartitionRouter.class);
+        AccountDTO to = createAccountOwnedBy(router, 1);
+        UUID transactionId = UUID.randomUUID();
+        CreditRequest credit = new CreditRequest(to.getId(), "USD", new BigDecimal("50.00"));
+
+        sendCredit(ports.get(1), transactionId, "POST", "/abort", credit, 200);
+        sendCredit(ports.get(1), transactionId, "PUT", "", credit, 409);
+        sendCredit(ports.get(1), transactionId, "POST", "/commit", credit, 409);
+
+        assertThat(getBalance(ports.get(1), to.getId())).isEqualByComparingTo(new BigDecimal("1000.00"));
+    }
+
+    /**
+     * Random transfers between accounts spread over both nodes, sent concurrently to random nodes.
+     * The total balance must drop by exactly the fees charged.
+     */
+    @Test
+    void testConcurrentCrossPartitionTransfersConserveBalance() throws Exception {
+        List<AccountDTO> accounts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            accounts.add(createAccount(ports.get(i % NODE_COUNT)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch latch = new CountDownLatch(1);
+        Random random = new Random(7);
+        BigDecimal amount = new BigDecimal("10.00");
+        List<Future<TransferResponse>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 400; i++) {
+            AccountDTO from = accounts.get(random.nextInt(accounts.size()));
+            AccountDTO to = accounts.get(random.nextInt(accounts.size()));
+            if (from.getId().equals(to.getId())) {
+                continue;
+            }
+            int port = ports.get(random.nextInt(NODE_COUNT));
+            futures.add(executor.submit(() -> {
+                latch.await();
+                return doTransfer(port, from.getId(), to.getId(), amount);
+            }));
+        }
+        latch.countDown();
+
+        int successCount = 0;
+        for (Future<TransferResponse> f : futures) {
+            if (f.get().getStatus() == TransactionStatus.SUCCESS) {
+                successCount++;
+            }
+        }
+        executor.shutdown();
+
+        BigDecimal fee = amount.multiply(feePercentage).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal expectedTotal = new BigDecimal("1000.00").multiply(BigDecimal.valueOf(accounts.size()))
+                .subtract(fee.multiply(BigDecimal.valueOf(successCount)));
+        BigDecimal actualTotal = BigDecimal.ZERO;
+        for (AccountDTO account : accounts) {
+            actualTotal = actualTotal.add(getBalance(ports.get(0), account.getId()));
+        }
+
+        assertThat(successCount).isPositive();
+        assertThat(actualTotal).isEqualByComparingTo(expectedTotal);
+    }
+
+    private AccountDTO createAccountOwnedBy(PartitionRouter router, int nodeIndex) {
+        AccountDTO account;
+        do {
+            account = createAccount(ports.get(0));
+        } while (router.ownerOf(account.getId()) != nodeIndex);
+        return account;
+    }
+
+    private AccountDTO createAccount(int port) {
+        return given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(AccountDTO.builder().name("cluster").balance(new BigDecimal("1000.00")).currency("USD").build())
+                .when()
+                .post("/api/accounts")
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(AccountDTO.class);
+    }
+
+    private TransferResponse doTransfer(int port, UUID from, UUID to, BigDecimal amount) {
+        return given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(new TransferRequest(from, to, amount))
+                .when()
+                .post("/api/transfers")
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(TransferResponse.class);
+    }
+
+    private void sendCredit(int port, UUID transactionId, String method, String action, CreditRequest credit, int expectedStatus) {
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(credit)
+                .when()
+                .request(method, "/internal/cluster/credits/{transactionId}" + action, transactionId)
+                .then()
+                .statusCode(expectedStatus);
+    }
+
+    private BigDecimal getBalance(int port, UUID accountId) {
+        String balanceStr = given()
+                .port(port)
+                .when()
+                .get("/api/accounts/{id}", accountId)
+                .then()
+                .statusCode(200)
+                .extract()
+                .jsonPath()
+                .getString("balance");
+        return new BigDecimal(balanceStr);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.account_transfer_api.integration;
+
+import com.example.account_transfer_api.entity.Transaction;
+import com.example.account_transfer_api.enums.TransactionStatus;
+import com.example.account_transfer_api.repository.TransactionRepository;
+import com.example.account_transfer_api.service.TransactionArchiveService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exercises the hot/cold transaction tiers against H2. The scheduled mover is disabled so that rows only
+ * move when a test calls {@link TransactionArchiveService#archiveBatch}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "transactions.archive.enabled=false",
+        "transactions.archive.retention=P30D"})
+public class TransactionArchiveIT {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionArchiveService transactionArchiveService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID aliceId = UUID.randomUUID();
+    private final UUID bobId = UUID.randomUUID();
+    private final Instant now = Instant.now();
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("DELETE FROM transactions_archive");
+        transactionRepository.deleteAll();
+    }
+
+    @Test
+    void testArchiveBatchMovesOnlyRowsOlderThanCutoff() {
+        Transaction old = save(now.minus(Duration.ofDays(40)));
+        Transaction older = save(now.minus(Duration.ofDays(50)));
+        Transaction recent = save(now.minus(Duration.ofDays(1)));
+
+        int moved = transactionArchiveService.archiveBatch(now.minus(Duration.ofDays(30)), 500);
+
+        assertThat(moved).isEqualTo(2);
+        assertThat(transactionRepository.findAll()).extracting(Transaction::getId).containsExactly(recent.getId());
+        assertThat(archivedIds()).containsExactlyInAnyOrder(old.getId(), older.getId());
+    }
+
+    @Test
+    void testArchiveBatchMovesOldestFirst() {
+        Transaction old = save(now.minus(Duration.ofDays(40)));
+        Transaction older = save(now.minus(Duration.ofDays(50)));
+
+        assertThat(transactionArchiveService.archiveBatch(now.minus(Duration.ofDays(30)), 1)).isEqualTo(1);
+
+        assertThat(archivedIds()).containsExactly(older.getId());
+        assertThat(transactionRepository.findAll()).extracting(Transaction::getId).containsExactly(old.getId());
+    }
+
+    @Test
+    void testFindInAnyTierFindsArchivedRows() {
+        Transaction old = save(now.minus(Duration.ofDays(40)));
+        transactionArchiveService.archiveBatch(now.minus(Duration.ofDays(30)), 500);
+
+        assertThat(transactionRepository.findById(old.getId())).isEmpty();
+        assertThat(transactionRepository.findInAnyTier(old.getId()))
+                .hasValueSatisfying(t -> {
+                    assertThat(t.getFromAccountId()).isEqualTo(aliceId);
+                    assertThat(t.getAmountDebited()).isEqualByComparingTo("10.00");
+                });
+        assertThat(transactionRepository.findInAnyTier(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void testFindByAccountIdBetweenMergesTiers() {
+        Transaction archived = save(now.minus(Duration.ofDays(40)));
+        transactionArchiveService.archiveBatch(now.minus(Duration.ofDays(30)), 500);
+        Transaction hotButOld = save(now.minus(Duration.ofDays(35)));
+        Transaction recent = save(now.minus(Duration.ofDays(1)));
+        save(now.minus(Duration.ofDays(60)));
+
+        List<Transaction> result = transactionRepository.findByAccountIdBetween(bobId,
+                now.minus(Duration.ofDays(45)), now);
+
+        assertThat(result).extracting(Transaction::getId)
+                .containsExactly(archived.getId(), hotButOld.getId(), recent.getId());
+    }
+
+    @Test
+    void testFindByAccountIdBetweenReturnsRowInBothTiersOnce() {
+        Transaction old = save(now.minus(Duration.ofDays(40)));
+        // State seen by a reader whose hot query ran before the mover deleted the row
+        jdbcTemplate.update("""
+                INSERT INTO transactions_archive (id, from_account_id, to_account_id, amount_debited, amount_credited,
+                                                  from_currency, to_currency, transaction_fee, status, created_at, fx_rate_id)
+                SELECT id, from_account_id, to_account_id, amount_debited, amount_credited,
+                       from_currency, to_currency, transaction_fee, status, created_at, fx_rate_id
+                FROM transactions WHERE id = ?
+                """, old.getId());
+
+        List<Transaction> result = transactionRepository.findByAccountIdBetween(aliceId,
+                now.minus(Duration.ofDays(45)), now);
+
+        assertThat(result).extracting(Transaction::getId).containsExactly(old.getId());
+    }
+
+    private Transaction save(Instant createdAt) {
+        return transactionRepository.save(Transaction.builder()
+                .fromAccountId(aliceId)
+                .toAccountId(bobId)
+                .amountDebited(new BigDecimal("10.00"))
+                .amountCredited(new BigDecimal("10.00"))
+                .fromCurrency("USD")
+                .toCurrency("USD")
+                .transactionFee(new BigDecimal("0.10"))
+                .status(TransactionStatus.SUCCESS.name())
+                .createdAt(createdAt)
+                .build());
+    }
+
+    private List<UUID> archivedIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM transactions_archive", UUID.class);
+    }
+}
@@ -6,6 +6,7 @@ import com.example.account_transfer_api.entity.Account;
 import com.example.account_transfer_api.enums.TransactionStatus;
 import com.example.account_transfer_api.repository.AccountRepository;
 import com.example.account_transfer_api.repository.TransactionRepository;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,10 +17,16 @@ import org.springframework.boot.test.web.server.LocalServerPort;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.*;
+import java.util.stream.Stream;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -197,6 +204,68 @@ public class TransferAPIIT {
     }
 
 
+    /**
+     * Test that a client asking for CBOR via the Accept header gets a binary body
+     * carrying the same transfer result as the JSON representation.
+     */
+    @Test
+    void testTransferRespondsWithCborWhenAccepted() throws Exception {
+        byte[] body = given()
+                .contentType(ContentType.JSON)
+                .accept("application/cbor")
+                .body(new TransferRequest(aliceId, bobId, new BigDecimal("10.00")))
+                .when()
+                .post("/api/transfers")
+                .then()
+                .statusCode(200)
+                .contentType("application/cbor")
+                .extract()
+                .asByteArray();
+
+        TransferResponse resp = new CBORMapper().findAndRegisterModules().readValue(body, TransferResponse.class);
+
+        assertThat(resp.getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        assertThat(resp.getAmountCredited()).isEqualByComparingTo(new BigDecimal("20.00"));
+        assertThat(resp.getTimestamp()).isNotNull();
+    }
+
+    /**
+     * Test that a subscriber to Bob's event stream first receives his current balance
+     * and then the new balance once a transfer to him commits.
+     */
+    @Test
+    void testBalanceEventStreamedAfterTransfer() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest subscribe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/accounts/" + bobId + "/events"))
+                .header("Accept", "text/event-stream")
+                .build();
+        HttpResponse<Stream<String>> stream = client.send(subscribe, HttpResponse.BodyHandlers.ofLines());
+        assertThat(stream.statusCode()).isEqualTo(200);
+
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        Future<List<String>> events = reader.submit(() -> {
+            List<String> data = new ArrayList<>();
+            Iterator<String> lines = stream.body().iterator();
+            while (data.size() < 2 && lines.hasNext()) {
+                String line = lines.next();
+                if (line.startsWith("data:")) {
+                    data.add(line);
+                }
+            }
+            return data;
+        });
+
+        TransferResponse resp = doTransfer(aliceId, bobId, new BigDecimal("50.00"));
+        assertThat(resp.getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+
+        List<String> data = events.get(10, TimeUnit.SECONDS);
+        assertThat(data.get(0)).contains("500.00").contains("\"version\":0");
+        assertThat(data.get(1)).contains("600.00").contains(resp.getTransactionId().toString()).contains("\"version\":1");
+
+        stream.body().close();
+        reader.shutdownNow();
+    }
+
     @Test
     void testTransfer40CnyAliceToBob() {
         /**
@@ -0,0 +1,205 @@
+package com.example.account_transfer_api.load;
+
+import com.example.account_transfer_api.AccountTransferApiApplication;
+import com.example.account_transfer_api.cluster.PartitionRouter;
+import com.example.account_transfer_api.dto.AccountDTO;
+import com.example.account_transfer_api.dto.TransferRequest;
+import com.example.account_transfer_api.dto.TransferResponse;
+import com.example.account_transfer_api.enums.TransactionStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the transfer throughput of a one-node and a two-node cluster. Each cluster gets its own in-memory
+ * H2 database shared by its nodes; every transfer is sent straight to the node owning its source account.
+ * <p>
+ * Runs only with {@code mvn verify -Pload-test}. The workload is tuned with system properties:
+ * <ul>
+ *     <li>{@code load.accountsPerNode} - accounts owned by each node (default 100)</li>
+ *     <li>{@code load.warmupRequests} - untimed transfers sent to each cluster first (default 2000)</li>
+ *     <li>{@code load.requests} - number of timed transfers sent to each cluster (default 20000)</li>
+ *     <li>{@code load.concurrency} - number of concurrent clients (default 32)</li>
+ *     <li>{@code load.crossNodeRatio} - share of transfers whose destination is owned by another node (default 0)</li>
+ *     <li>{@code load.minScaling} - required two-node / one-node throughput ratio (default 0, report only)</li>
+ * </ul>
+ * All nodes run in this JVM, so the measured scaling is a lower bound of what separate machines would show.
+ */
+public class ClusterScalingIT {
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("10000.00");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private final int accountsPerNode = Integer.getInteger("load.accountsPerNode", 100);
+    private final int warmupCount = Integer.getInteger("load.warmupRequests", 2_000);
+    private final int requestCount = Integer.getInteger("load.requests", 20_000);
+    private final int concurrency = Integer.getInteger("load.concurrency", 32);
+    private final double crossNodeRatio = doubleProperty("load.crossNodeRatio", 0.0);
+    private final double minScaling = doubleProperty("load.minScaling", 0.0);
+
+    @Test
+    void twoNodesScaleThroughput() throws Exception {
+        double oneNode = measure(1);
+        double twoNodes = measure(2);
+        double scaling = twoNodes / oneNode;
+
+        System.out.println("=== Cluster scaling report ===");
+        System.out.printf("accountsPerNode=%d warmup=%d requests=%d concurrency=%d crossNode=%.2f%n",
+                accountsPerNode, warmupCount, requestCount, concurrency, crossNodeRatio);
+        System.out.printf("1 node=%.1f req/s 2 nodes=%.1f req/s scaling=%.2fx%n", oneNode, twoNodes, scaling);
+
+        assertThat(scaling).as("two-node / one-node throughput").isGreaterThanOrEqualTo(minScaling);
+    }
+
+    /**
+     * @return successful transfers per second of a cluster with {@code nodeCount} nodes
+     */
+    private double measure(int nodeCount) throws Exception {
+        List<Integer> ports = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i++) {
+            ports.add(freePort());
+        }
+        String nodeUrls = String.join(",", ports.stream().map(p -> "http://localhost:" + p).toList());
+        List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+        try {
+            for (int i = 0; i < nodeCount; i++) {
+                nodes.add(new SpringApplicationBuilder(AccountTransferApiApplication.class)
+                        .run(
+                                "--server.port=" + ports.get(i),
+                                "--spring.datasource.url=jdbc:h2:mem:scaling" + nodeCount + ";DB_CLOSE_DELAY=-1",
+                                "--spring.sql.init.mode=" + (i == 0 ? "always" : "never"),
+                                "--spring.jpa.show-sql=false",
+                                "--transactions.archive.enabled=false",
+                                "--cluster.enabled=true",
+                                "--cluster.node-index=" + i,
+                                "--cluster.nodes=" + nodeUrls));
+            }
+            PartitionRouter router = nodes.get(0).getBean(PartitionRouter.class);
+            List<List<AccountDTO>> accountsByNode = seedAccounts(ports.get(0), router, nodeCount);
+            List<TransferRequest> workload = buildWorkload(accountsByNode, warmupCount + requestCount);
+
+            // Untimed warm-up, so the cluster measured first does not pay for JIT compilation alone
+            drive(workload.subList(0, warmupCount), ports, router);
+            long start = System.nanoTime();
+            int successes = drive(workload.subList(warmupCount, workload.size()), ports, router);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            return successes / seconds;
+        } finally {
+            for (int i = nodes.size() - 1; i >= 0; i--) {
+                nodes.get(i).close();
+            }
+        }
+    }
+
+    /**
+     * Sends every transfer to the node owning its source account from {@code load.concurrency} clients.
+     *
+     * @return number of successful transfers
+     */
+    private int drive(List<TransferRequest> workload, List<Integer> ports, PartitionRouter router) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger successes = new AtomicInteger();
+        List<Future<?>> clients = new ArrayList<>();
+        for (int c = 0; c < concurrency; c++) {
+            clients.add(executor.submit(() -> {
+                for (int i = next.getAndIncrement(); i < workload.size(); i = next.getAndIncrement()) {
+                    TransferRequest request = workload.get(i);
+                    HttpResponse<String> response = post(ports.get(router.ownerOf(request.getFromAccountId())),
+                            "/api/transfers", request);
+                    assertThat(response.statusCode()).isEqualTo(200);
+                    if (objectMapper.readValue(response.body(), TransferResponse.class).getStatus() == TransactionStatus.SUCCESS) {
+                        successes.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> client : clients) {
+            client.get();
+        }
+        executor.shutdown();
+        return successes.get();
+    }
+
+    private List<List<AccountDTO>> seedAccounts(int port, PartitionRouter router, int nodeCount) throws Exception {
+        List<List<AccountDTO>> accountsByNode = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i++) {
+            accountsByNode.add(new ArrayList<>());
+        }
+        while (accountsByNode.stream().anyMatch(accounts -> accounts.size() < accountsPerNode)) {
+            AccountDTO request = AccountDTO.builder().name("scaling").balance(INITIAL_BALANCE).currency("USD").build();
+            HttpResponse<String> response = post(port, "/api/accounts", request);
+            assertThat(response.statusCode()).isEqualTo(200);
+            AccountDTO account = objectMapper.readValue(response.body(), AccountDTO.class);
+            accountsByNode.get(router.ownerOf(account.getId())).add(account);
+        }
+        return accountsByNode;
+    }
+
+    /**
+     * Spreads sources evenly over the nodes; destinations are owned by the source's node unless picked
+     * for a cross-node transfer.
+     */
+    private List<TransferRequest> buildWorkload(List<List<AccountDTO>> accountsByNode, int count) {
+        Random random = new Random(42);
+        List<TransferRequest> workload = new ArrayList<>(count);
+        while (workload.size() < count) {
+            int sourceNode = random.nextInt(accountsByNode.size());
+            int destinationNode = sourceNode;
+            if (accountsByNode.size() > 1 && random.nextDouble() < crossNodeRatio) {
+                destinationNode = (sourceNode + 1 + random.nextInt(accountsByNode.size() - 1)) % accountsByNode.size();
+            }
+            AccountDTO from = pick(accountsByNode.get(sourceNode), random);
+            AccountDTO to = pick(accountsByNode.get(destinationNode), random);
+            if (from.getId().equals(to.getId())) {
+                continue;
+            }
+            workload.add(new TransferRequest(from.getId(), to.getId(), BigDecimal.valueOf(1 + random.nextInt(500), 2)));
+        }
+        return workload;
+    }
+
+    private AccountDTO pick(List<AccountDTO> accounts, Random random) {
+        return accounts.get(random.nextInt(Math.min(accounts.size(), accountsPerNode)));
+    }
+
+    private HttpResponse<String> post(int port, String path, Object body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
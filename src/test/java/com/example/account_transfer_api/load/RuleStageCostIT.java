@@ -0,0 +1,106 @@
+package com.example.account_transfer_api.load;
+
+import com.example.account_transfer_api.dto.TransferRequest;
+import com.example.account_transfer_api.entity.Account;
+import com.example.account_transfer_api.enums.TransactionStatus;
+import com.example.account_transfer_api.repository.AccountRepository;
+import com.example.account_transfer_api.rules.RuleLimits;
+import com.example.account_transfer_api.rules.TransferRuleEngine;
+import com.example.account_transfer_api.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the velocity rule stage, with every built-in rule active and 10k tracked accounts, costs less
+ * than 5% of an in-process transfer. Timing based, so it runs only with {@code mvn verify -Pload-test}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rulecost;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "transactions.archive.enabled=false"})
+public class RuleStageCostIT {
+
+    private static final int TRANSFERS = 2_000;
+    private static final int RULE_ITERATIONS = 200_000;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransferRuleEngine transferRuleEngine;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @AfterEach
+    void restoreLimits() {
+        transferRuleEngine.reload(new RuleLimits());
+    }
+
+    @Test
+    void ruleStageIsUnderFivePercentOfTransfer() {
+        transferRuleEngine.reload(RuleLimits.builder()
+                .maxAmountPerWindow(new BigDecimal("1000000000.00"))
+                .maxTransfersPerMinute(1_000_000)
+                .maxNewDestinationsPerWindow(1_000_000)
+                .build());
+
+        UUID from = createAccount();
+        UUID to = createAccount();
+        TransferRequest request = new TransferRequest(from, to, new BigDecimal("1.00"));
+        for (int i = 0; i < TRANSFERS / 4; i++) {
+            transferService.transferMoney(request);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < TRANSFERS; i++) {
+            assertThat(transferService.transferMoney(request).getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        }
+        double transferMicros = (System.nanoTime() - start) / 1_000.0 / TRANSFERS;
+
+        List<UUID> accounts = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            accounts.add(UUID.randomUUID());
+        }
+        BigDecimal amount = new BigDecimal("10.00");
+        for (int i = 0; i < RULE_ITERATIONS; i++) {
+            ruleStage(accounts.get(i % accounts.size()), accounts.get((i * 31 + 7) % accounts.size()), amount);
+        }
+        int violations = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < RULE_ITERATIONS; i++) {
+            if (!ruleStage(accounts.get(i % accounts.size()), accounts.get((i * 17 + 3) % accounts.size()), amount)) {
+                violations++;
+            }
+        }
+        double ruleMicros = (System.nanoTime() - start) / 1_000.0 / RULE_ITERATIONS;
+
+        assertThat(violations).isZero();
+        assertThat(ruleMicros)
+                .as("rule stage %.2f us vs transfer %.2f us", ruleMicros, transferMicros)
+                .isLessThan(transferMicros * 0.05);
+    }
+
+    private boolean ruleStage(UUID from, UUID to, BigDecimal amount) {
+        boolean allowed = transferRuleEngine.evaluate(from, to, amount).isEmpty();
+        transferRuleEngine.record(from, to, amount);
+        return allowed;
+    }
+
+    private UUID createAccount() {
+        return accountRepository.save(Account.builder()
+                .id(UUID.randomUUID())
+                .name("rule-cost")
+                .balance(new BigDecimal("1000000.00"))
+                .currency("USD")
+                .build()).getId();
+    }
+}
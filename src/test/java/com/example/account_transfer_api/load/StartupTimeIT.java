@@ -0,0 +1,94 @@
+package com.example.account_transfer_api.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures time-to-first-successful-transfer of the packaged application in a fresh JVM, from process
+ * launch until {@code /api/transfers} returns SUCCESS for the seeded Alice -> Bob accounts.
+ * <p>
+ * Runs with {@code mvn verify -Pload-test}; add {@code -Pfast-start} to measure the AOT + AppCDS build.
+ * {@code startup.jar} and {@code startup.jvmArgs} are provided by the build.
+ */
+public class StartupTimeIT {
+
+    private static final String TRANSFER_BODY = """
+            {"fromAccountId":"11111111-1111-1111-1111-111111111111","toAccountId":"22222222-2222-2222-2222-222222222222","amount":1.00}
+            """;
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @Test
+    void measureTimeToFirstSuccessfulTransfer() throws Exception {
+        String jar = System.getProperty("startup.jar");
+        assertThat(jar).as("startup.jar system property").isNotBlank();
+        int port = freePort();
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        String jvmArgs = System.getProperty("startup.jvmArgs", "");
+        if (!jvmArgs.isBlank()) {
+            command.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+        }
+        command.addAll(List.of("-jar", jar, "--server.port=" + port));
+
+        HttpRequest transfer = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/transfers"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(TRANSFER_BODY))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(new File(jar).getAbsoluteFile().getParentFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long elapsedMillis = -1;
+            while (System.nanoTime() - start < TIMEOUT.toNanos() && process.isAlive()) {
+                try {
+                    HttpResponse<String> response = httpClient.send(transfer, HttpResponse.BodyHandlers.ofString());
+                    if (response.statusCode() == 200 && response.body().contains("\"SUCCESS\"")) {
+                        elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+                        break;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(20);
+            }
+
+            System.out.println("=== Startup report ===");
+            System.out.printf("command=%s%n", String.join(" ", command));
+            System.out.printf("time-to-first-successful-transfer=%d ms%n", elapsedMillis);
+            assertThat(elapsedMillis).as("first successful transfer within %s", TIMEOUT).isPositive();
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
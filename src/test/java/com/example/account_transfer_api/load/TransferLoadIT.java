@@ -0,0 +1,235 @@
+package com.example.account_transfer_api.load;
+
+import com.example.account_transfer_api.dto.AccountDTO;
+import com.example.account_transfer_api.dto.TransferRequest;
+import com.example.account_transfer_api.dto.TransferResponse;
+import com.example.account_transfer_api.enums.TransactionStatus;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load suite. Seeds accounts through {@code /api/accounts}, drives {@code /api/transfers}
+ * with a configurable workload mix and then checks that money was conserved per currency.
+ * <p>
+ * Runs only with {@code mvn verify -Pload-test}. The workload is tuned with system properties:
+ * <ul>
+ *     <li>{@code load.accounts} - number of seeded accounts (default 200)</li>
+ *     <li>{@code load.currencies} - comma separated currencies, every pair needs an FX rate (default USD,AUD)</li>
+ *     <li>{@code load.requests} - number of transfers to send (default 20000)</li>
+ *     <li>{@code load.concurrency} - number of concurrent clients (default 32)</li>
+ *     <li>{@code load.hotAccountRatio} - share of transfers touching the hot account set (default 0.5)</li>
+ *     <li>{@code load.hotSetFraction} - share of accounts that are hot (default 0.02)</li>
+ *     <li>{@code load.crossCurrencyRatio} - share of transfers between different currencies (default 0.3)</li>
+ *     <li>{@code load.insufficientFundsRatio} - share of transfers sized to fail the balance check (default 0.1)</li>
+ * </ul>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jpa.show-sql=false")
+public class TransferLoadIT {
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("10000.00");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private final int accountCount = Integer.getInteger("load.accounts", 200);
+    private final List<String> currencies = List.of(System.getProperty("load.currencies", "USD,AUD").split(","));
+    private final int requestCount = Integer.getInteger("load.requests", 20_000);
+    private final int concurrency = Integer.getInteger("load.concurrency", 32);
+    private final double hotAccountRatio = doubleProperty("load.hotAccountRatio", 0.5);
+    private final double hotSetFraction = doubleProperty("load.hotSetFraction", 0.02);
+    private final double crossCurrencyRatio = doubleProperty("load.crossCurrencyRatio", 0.3);
+    private final double insufficientFundsRatio = doubleProperty("load.insufficientFundsRatio", 0.1);
+
+    @Test
+    void runTransferWorkload() throws Exception {
+        Map<String, List<AccountDTO>> accountsByCurrency = seedAccounts();
+        Map<UUID, AccountDTO> seeded = new HashMap<>();
+        accountsByCurrency.values().forEach(list -> list.forEach(a -> seeded.put(a.getId(), a)));
+        Map<String, BigDecimal> initialTotals = totalsByCurrency(seeded.values());
+
+        List<TransferRequest> workload = buildWorkload(accountsByCurrency);
+
+        long[] latenciesNanos = new long[workload.size()];
+        List<TransferResponse> successes = Collections.synchronizedList(new ArrayList<>());
+        Map<String, AtomicInteger> failuresByMessage = new ConcurrentHashMap<>();
+        Map<Integer, AtomicInteger> errorsByStatus = new ConcurrentHashMap<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> clients = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < concurrency; c++) {
+            clients.add(executor.submit(() -> {
+                for (int i = next.getAndIncrement(); i < workload.size(); i = next.getAndIncrement()) {
+                    long sent = System.nanoTime();
+                    HttpResponse<String> response = post("/api/transfers", workload.get(i));
+                    latenciesNanos[i] = System.nanoTime() - sent;
+
+                    if (response.statusCode() != 200) {
+                        errorsByStatus.computeIfAbsent(response.statusCode(), k -> new AtomicInteger()).incrementAndGet();
+                        continue;
+                    }
+                    TransferResponse transfer = objectMapper.readValue(response.body(), TransferResponse.class);
+                    if (transfer.getStatus() == TransactionStatus.SUCCESS) {
+                        successes.add(transfer);
+                    } else {
+                        failuresByMessage.computeIfAbsent(transfer.getMessage(), k -> new AtomicInteger()).incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> client : clients) {
+            client.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+
+        report(latenciesNanos, elapsedNanos, successes.size(), failuresByMessage, errorsByStatus);
+
+        // Balance conservation: every currency must hold its initial total plus credits minus debits and fees
+        Map<String, BigDecimal> expectedTotals = new HashMap<>(initialTotals);
+        for (TransferResponse transfer : successes) {
+            expectedTotals.merge(transfer.getFromCurrency(), transfer.getAmountDebited().add(transfer.getFee()).negate(), BigDecimal::add);
+            expectedTotals.merge(transfer.getToCurrency(), transfer.getAmountCredited(), BigDecimal::add);
+        }
+        List<AccountDTO> finalAccounts = fetchAccounts().stream()
+                .filter(a -> seeded.containsKey(a.getId()))
+                .toList();
+        Map<String, BigDecimal> finalTotals = totalsByCurrency(finalAccounts);
+
+        assertThat(finalAccounts).hasSize(seeded.size());
+        assertThat(finalAccounts).allSatisfy(a -> assertThat(a.getBalance()).isGreaterThanOrEqualTo(BigDecimal.ZERO));
+        for (String currency : currencies) {
+            assertThat(finalTotals.get(currency))
+                    .as("total %s balance", currency)
+                    .isEqualByComparingTo(expectedTotals.get(currency));
+        }
+        assertThat(errorsByStatus).isEmpty();
+    }
+
+    private Map<String, List<AccountDTO>> seedAccounts() throws Exception {
+        Map<String, List<AccountDTO>> accountsByCurrency = new LinkedHashMap<>();
+        for (int i = 0; i < accountCount; i++) {
+            String currency = currencies.get(i % currencies.size());
+            AccountDTO request = AccountDTO.builder()
+                    .name("load-" + i)
+                    .balance(INITIAL_BALANCE)
+                    .currency(currency)
+                    .build();
+            HttpResponse<String> response = post("/api/accounts", request);
+            assertThat(response.statusCode()).isEqualTo(200);
+            accountsByCurrency.computeIfAbsent(currency, k -> new ArrayList<>())
+                    .add(objectMapper.readValue(response.body(), AccountDTO.class));
+        }
+        return accountsByCurrency;
+    }
+
+    private List<TransferRequest> buildWorkload(Map<String, List<AccountDTO>> accountsByCurrency) {
+        Random random = new Random(42);
+        List<TransferRequest> workload = new ArrayList<>(requestCount);
+        while (workload.size() < requestCount) {
+            String fromCurrency = currencies.get(random.nextInt(currencies.size()));
+            String toCurrency = fromCurrency;
+            if (currencies.size() > 1 && random.nextDouble() < crossCurrencyRatio) {
+                while (toCurrency.equals(fromCurrency)) {
+                    toCurrency = currencies.get(random.nextInt(currencies.size()));
+                }
+            }
+
+            AccountDTO from = pick(accountsByCurrency.get(fromCurrency), random);
+            AccountDTO to = pick(accountsByCurrency.get(toCurrency), random);
+            if (from.getId().equals(to.getId())) {
+                continue;
+            }
+
+            BigDecimal amount = random.nextDouble() < insufficientFundsRatio
+                    ? INITIAL_BALANCE.multiply(BigDecimal.valueOf(1000))
+                    : BigDecimal.valueOf(1 + random.nextInt(5000), 2);
+            workload.add(new TransferRequest(from.getId(), to.getId(), amount));
+        }
+        return workload;
+    }
+
+    /**
+     * The first {@code hotSetFraction} of each currency's accounts receives {@code hotAccountRatio} of the picks.
+     */
+    private AccountDTO pick(List<AccountDTO> accounts, Random random) {
+        int hotSetSize = Math.max(1, (int) (accounts.size() * hotSetFraction));
+        if (random.nextDouble() < hotAccountRatio) {
+            return accounts.get(random.nextInt(hotSetSize));
+        }
+        return accounts.get(random.nextInt(accounts.size()));
+    }
+
+    private void report(long[] latenciesNanos, long elapsedNanos, int successCount,
+                        Map<String, AtomicInteger> failuresByMessage, Map<Integer, AtomicInteger> errorsByStatus) {
+        long[] sorted = latenciesNanos.clone();
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1_000_000_000.0;
+
+        System.out.println("=== Transfer load report ===");
+        System.out.printf("accounts=%d currencies=%s requests=%d concurrency=%d hot=%.2f cross=%.2f insufficient=%.2f%n",
+                accountCount, currencies, latenciesNanos.length, concurrency,
+                hotAccountRatio, crossCurrencyRatio, insufficientFundsRatio);
+        System.out.printf("elapsed=%.2fs throughput=%.1f req/s%n", seconds, latenciesNanos.length / seconds);
+        System.out.printf("latency ms p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), sorted[sorted.length - 1] / 1_000_000.0);
+        System.out.printf("SUCCESS=%d%n", successCount);
+        failuresByMessage.forEach((message, count) -> System.out.printf("FAILED[%s]=%d%n", message, count.get()));
+        errorsByStatus.forEach((status, count) -> System.out.printf("HTTP %d=%d%n", status, count.get()));
+    }
+
+    private double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private Map<String, BigDecimal> totalsByCurrency(Collection<AccountDTO> accounts) {
+        Map<String, BigDecimal> totals = new HashMap<>();
+        accounts.forEach(a -> totals.merge(a.getCurrency(), a.getBalance().setScale(2, RoundingMode.HALF_UP), BigDecimal::add));
+        return totals;
+    }
+
+    private List<AccountDTO> fetchAccounts() throws Exception {
+        HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/accounts")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readValue(response.body(), new TypeReference<>() {});
+    }
+
+    private HttpResponse<String> post(String path, Object body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.account_transfer_api.rules;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransferRuleEngineTest {
+
+    private TransferRuleProperties properties;
+    private AccountActivityTracker activityTracker;
+    private TransferRuleEngine ruleEngine;
+
+    private UUID aliceId;
+    private UUID bobId;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TransferRuleProperties();
+        activityTracker = new AccountActivityTracker(properties);
+        ruleEngine = new TransferRuleEngine(activityTracker, properties,
+                new StaticListableBeanFactory().getBeanProvider(TransferRule.class));
+
+        aliceId = UUID.randomUUID();
+        bobId = UUID.randomUUID();
+    }
+
+    @Test
+    void testNoLimitsAllowsEverything() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(ruleEngine.evaluate(aliceId, bobId, new BigDecimal("1000.00"))).isEmpty();
+            ruleEngine.record(aliceId, bobId, new BigDecimal("1000.00"));
+        }
+    }
+
+    @Test
+    void testMaxTransfersPerMinute() {
+        ruleEngine.reload(RuleLimits.builder().maxTransfersPerMinute(3).build());
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(ruleEngine.evaluate(aliceId, bobId, new BigDecimal("10.00"))).isEmpty();
+            ruleEngine.record(aliceId, bobId, new BigDecimal("10.00"));
+        }
+
+        assertThat(ruleEngine.evaluate(aliceId, bobId, new BigDecimal("10.00")))
+                .contains("Transfer limit exceeded: maximum transfers per minute");
+        // Limits are per source account
+        assertThat(ruleEngine.evaluate(bobId, aliceId, new BigDecimal("10.00"))).isEmpty();
+    }
+
+    @Test
+    void testMaxAmountPerWindow() {
+        ruleEngine.reload(RuleLimits.builder().maxAmountPerWindow(new BigDecimal("100.00")).build());
+
+        ruleEngine.record(aliceId, bobId, new BigDecimal("60.00"));
+
+        assertThat(ruleEngine.evaluate(aliceId, bobId, new BigDecimal("40.00"))).isEmpty();
+        assertThat(ruleEngine.evaluate(aliceId, bobId, new BigDecimal("40.01")))
+                .contains("Transfer limit exceeded: maximum amount per window");
+    }
+
+    @Test
+    void testNewDestinationLimitAllowsKnownDestinations() {
+        ruleEngine.reload(RuleLimits.builder().maxNewDestinationsPerWindow(1).build());
+
+        ruleEngine.record(aliceId, bobId, new BigDecimal("10.00"));
+
+        assertThat(ruleEngine.evaluate(aliceId, bobId, new BigDecimal("10.00"))).isEmpty();
+        assertThat(ruleEngine.evaluate(aliceId, UUID.randomUUID(), new BigDecimal("10.00")))
+                .contains("Transfer limit exceeded: too many new destinations");
+    }
+
+    @Test
+    void testReloadReplacesLimits() {
+        ruleEngine.reload(RuleLimits.builder().maxTransfersPerMinute(1).build());
+        ruleEngine.record(aliceId, bobId, new BigDecimal("10.00"));
+        assertThat(ruleEngine.evaluate(aliceId, bobId, new BigDecimal("10.00"))).isPresent();
+
+        ruleEngine.reload(RuleLimits.builder().maxTransfersPerMinute(5).build());
+
+        assertThat(ruleEngine.evaluate(aliceId, bobId, new BigDecimal("10.00"))).isEmpty();
+        assertThat(ruleEngine.getLimits().getMaxTransfersPerMinute()).isEqualTo(5);
+    }
+
+    @Test
+    void testRegularDestinationStaysKnownAmongManyOthers() {
+        AccountActivity activity = new AccountActivity(Duration.ofHours(1), 0);
+        UUID regular = UUID.randomUUID();
+        UUID once = UUID.randomUUID();
+        activity.record(regular, 100, 0);
+        activity.record(once, 100, 0);
+
+        for (int i = 0; i < AccountActivity.MAX_KNOWN_DESTINATIONS * 2; i++) {
+            activity.record(UUID.randomUUID(), 100, 0);
+            if (i % 50 == 0) {
+                activity.record(regular, 100, 0);
+            }
+        }
+
+        assertThat(activity.isKnownDestination(regular)).isTrue();
+        assertThat(activity.isKnownDestination(once)).isFalse();
+        // Repeat transfers to the regular destination never counted as new
+        assertThat(activity.newDestinationsInWindow(0)).isEqualTo(AccountActivity.MAX_KNOWN_DESTINATIONS * 2 + 2);
+    }
+
+    @Test
+    void testConcurrentTransfersToNewDestinationCountItOnce() throws InterruptedException {
+        AccountActivity activity = new AccountActivity(Duration.ofHours(1), 0);
+        UUID destination = UUID.randomUUID();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                start.await();
+                activity.record(destination, 100, 0);
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(activity.transfersInLastMinute(0)).isEqualTo(8);
+        assertThat(activity.newDestinationsInWindow(0)).isEqualTo(1);
+    }
+
+    @Test
+    void testSlidingWindowForgetsOldBuckets() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofSeconds(10), 10);
+
+        counter.add(0, 5);
+        counter.add(4_000, 3);
+
+        assertThat(counter.sum(5_000)).isEqualTo(8);
+        assertThat(counter.sum(10_500)).isEqualTo(3);
+        assertThat(counter.sum(15_000)).isZero();
+    }
+}
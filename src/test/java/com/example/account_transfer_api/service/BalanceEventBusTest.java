@@ -0,0 +1,39 @@
+package com.example.account_transfer_api.service;
+
+import com.example.account_transfer_api.dto.BalanceEvent;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BalanceEventBusTest {
+
+    private final BalanceEventBus balanceEventBus = new BalanceEventBus(4, Duration.ofMinutes(1), Duration.ofMillis(10));
+
+    @Test
+    void testCompleteAllEndsEverySubscription() {
+        UUID aliceId = UUID.randomUUID();
+        UUID bobId = UUID.randomUUID();
+        balanceEventBus.subscribe(aliceId, () -> snapshot(aliceId));
+        balanceEventBus.subscribe(aliceId, () -> snapshot(aliceId));
+        balanceEventBus.subscribe(bobId, () -> snapshot(bobId));
+        assertThat(balanceEventBus.subscriberCount()).isEqualTo(3);
+
+        balanceEventBus.completeAll();
+
+        assertThat(balanceEventBus.subscriberCount()).isZero();
+    }
+
+    private BalanceEvent snapshot(UUID accountId) {
+        return BalanceEvent.builder()
+                .accountId(accountId)
+                .balance(new BigDecimal("100.00"))
+                .currency("USD")
+                .timestamp(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.account_transfer_api.service;
+
+import com.example.account_transfer_api.entity.FxRate;
+import com.example.account_transfer_api.repository.FxRateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class FxRateServiceTest {
+
+    private final Instant jan = Instant.parse("2025-01-01T00:00:00Z");
+    private final Instant feb = Instant.parse("2025-02-01T00:00:00Z");
+    private final Instant mar = Instant.parse("2025-03-01T00:00:00Z");
+
+    private FxRateRepository fxRateRepository;
+    private FxRateService fxRateService;
+
+    @BeforeEach
+    void setUp() {
+        fxRateRepository = mock(FxRateRepository.class);
+        fxRateService = new FxRateService(fxRateRepository);
+
+        when(fxRateRepository.findByFromCurrencyAndToCurrencyOrderByValidFromAsc("USD", "AUD")).thenReturn(List.of(
+                rate(1L, "1.50", jan),
+                rate(2L, "1.60", feb),
+                rate(3L, "1.55", mar)));
+    }
+
+    @Test
+    void testQuoteIsLatestRateValidAtInstant() {
+        assertThat(fxRateService.getQuote("USD", "AUD", jan).getRateId()).isEqualTo(1L);
+        assertThat(fxRateService.getQuote("USD", "AUD", feb.minusMillis(1)).getRateId()).isEqualTo(1L);
+        assertThat(fxRateService.getQuote("USD", "AUD", feb).getRateId()).isEqualTo(2L);
+        assertThat(fxRateService.getQuote("usd", "aud", mar.plusSeconds(3600)).getRate()).isEqualByComparingTo("1.55");
+    }
+
+    @Test
+    void testInstantBeforeFirstRateFails() {
+        assertThatThrownBy(() -> fxRateService.getQuote("USD", "AUD", jan.minusSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testTimelineLoadedOnce() {
+        fxRateService.getQuote("USD", "AUD", jan);
+        fxRateService.getQuote("USD", "AUD", feb);
+        fxRateService.getRate("USD", "AUD");
+
+        verify(fxRateRepository, times(1)).findByFromCurrencyAndToCurrencyOrderByValidFromAsc("USD", "AUD");
+    }
+
+    @Test
+    void testSameCurrencyNeedsNoRate() {
+        FxQuote quote = fxRateService.getQuote("USD", "USD", jan);
+
+        assertThat(quote.getRate()).isEqualByComparingTo(BigDecimal.ONE);
+        assertThat(quote.getRateId()).isNull();
+        verifyNoInteractions(fxRateRepository);
+    }
+
+    @Test
+    void testMissingPairFails() {
+        when(fxRateRepository.findByFromCurrencyAndToCurrencyOrderByValidFromAsc("USD", "JPY")).thenReturn(List.of());
+
+        assertThatThrownBy(() -> fxRateService.getQuote("USD", "JPY", jan))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testMissingPairQueriedOnceUntilReload() {
+        when(fxRateRepository.findByFromCurrencyAndToCurrencyOrderByValidFromAsc("USD", "JPY")).thenReturn(List.of());
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> fxRateService.getQuote("USD", "JPY", jan))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        verify(fxRateRepository, times(1)).findByFromCurrencyAndToCurrencyOrderByValidFromAsc("USD", "JPY");
+
+        when(fxRateRepository.findByFromCurrencyAndToCurrencyOrderByValidFromAsc("USD", "JPY")).thenReturn(List.of(
+                rate(6L, "150.00", jan)));
+        fxRateService.reloadAll();
+
+        assertThat(fxRateService.getQuote("USD", "JPY", feb).getRateId()).isEqualTo(6L);
+    }
+
+    @Test
+    void testReloadPicksUpNewRate() {
+        Instant apr = Instant.parse("2025-04-01T00:00:00Z");
+        assertThat(fxRateService.getQuote("USD", "AUD", apr).getRateId()).isEqualTo(3L);
+
+        when(fxRateRepository.findByFromCurrencyAndToCurrencyOrderByValidFromAsc("USD", "AUD")).thenReturn(List.of(
+                rate(1L, "1.50", jan),
+                rate(2L, "1.60", feb),
+                rate(3L, "1.55", mar),
+                rate(4L, "1.70", apr)));
+        fxRateService.reload("usd", "aud");
+
+        assertThat(fxRateService.getQuote("USD", "AUD", apr).getRateId()).isEqualTo(4L);
+        assertThat(fxRateService.getQuote("USD", "AUD", mar).getRateId()).isEqualTo(3L);
+    }
+
+    @Test
+    void testReloadAllRefreshesCachedPairs() {
+        fxRateService.getQuote("USD", "AUD", jan);
+
+        when(fxRateRepository.findByFromCurrencyAndToCurrencyOrderByValidFromAsc("USD", "AUD")).thenReturn(List.of(
+                rate(5L, "1.45", jan)));
+        fxRateService.reloadAll();
+
+        assertThat(fxRateService.getQuote("USD", "AUD", mar).getRateId()).isEqualTo(5L);
+    }
+
+    private FxRate rate(Long id, String rate, Instant validFrom) {
+        return FxRate.builder().id(id).fromCurrency("USD").toCurrency("AUD").rate(new BigDecimal(rate)).validFrom(validFrom).build();
+    }
+}
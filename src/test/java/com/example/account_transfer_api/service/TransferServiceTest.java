@@ -1,21 +1,35 @@
 package com.example.account_transfer_api.service;
 
+import com.example.account_transfer_api.diagnostics.LockContentionMonitor;
+import com.example.account_transfer_api.dto.BalanceEvent;
 import com.example.account_transfer_api.dto.TransferRequest;
 import com.example.account_transfer_api.dto.TransferResponse;
 import com.example.account_transfer_api.entity.Account;
 import com.example.account_transfer_api.entity.Transaction;
 import com.example.account_transfer_api.enums.TransactionStatus;
+import com.example.account_transfer_api.repository.AccountBalanceView;
 import com.example.account_transfer_api.repository.AccountRepository;
 import com.example.account_transfer_api.repository.TransactionRepository;
+import com.example.account_transfer_api.rules.AccountActivityTracker;
+import com.example.account_transfer_api.rules.RuleLimits;
+import com.example.account_transfer_api.rules.TransferRule;
+import com.example.account_transfer_api.rules.TransferRuleEngine;
+import com.example.account_transfer_api.rules.TransferRuleProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 class TransferServiceTest {
@@ -24,6 +38,9 @@ class TransferServiceTest {
     private TransactionRepository transactionRepository;
     private FxRateService fxRateService;
     private FeeConfigService feeConfigService;
+    private TransferRuleEngine transferRuleEngine;
+    private LockContentionMonitor lockContentionMonitor;
+    private ApplicationEventPublisher eventPublisher;
     private TransferService transferService;
 
     private UUID aliceId;
@@ -35,13 +52,18 @@ class TransferServiceTest {
         transactionRepository = mock(TransactionRepository.class);
         fxRateService = mock(FxRateService.class);
         feeConfigService = mock(FeeConfigService.class);
+        transferRuleEngine = mock(TransferRuleEngine.class);
+        lockContentionMonitor = mock(LockContentionMonitor.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
 
-        transferService = new TransferService(accountRepository, transactionRepository, fxRateService, feeConfigService);
+        transferService = new TransferService(accountRepository, transactionRepository, fxRateService, feeConfigService,
+                transferRuleEngine, lockContentionMonitor, eventPublisher, true);
 
         aliceId = UUID.randomUUID();
         bobId = UUID.randomUUID();
 
         when(feeConfigService.getGlobalFeePercentage()).thenReturn(new BigDecimal("0.01"));
+        when(transferRuleEngine.newBatch()).thenAnswer(invocation -> ruleEngine(new RuleLimits()).newBatch());
 
     }
 
@@ -59,6 +81,10 @@ class TransferServiceTest {
         assertThat(bob.getBalance()).isEqualByComparingTo(new BigDecimal("600.00"));
 
         verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(eventPublisher, times(2)).publishEvent(any(BalanceEvent.class));
+        verify(transferRuleEngine).record(aliceId, bobId, new BigDecimal("100.00"));
+        verify(lockContentionMonitor).record(eq(aliceId), anyLong());
+        verify(lockContentionMonitor).record(eq(bobId), anyLong());
     }
 
     @Test
@@ -68,7 +94,7 @@ class TransferServiceTest {
 
         mockAccounts(alice, bob);
 
-        when(fxRateService.getRate("USD", "AUD")).thenReturn(new BigDecimal("2.0"));
+        when(fxRateService.getQuote(eq("USD"), eq("AUD"), any())).thenReturn(new FxQuote(7L, new BigDecimal("2.0"), Instant.EPOCH));
 
         TransferRequest request = new TransferRequest(aliceId, bobId, new BigDecimal("100"));
         TransferResponse response = transferService.transferMoney(request);
@@ -80,7 +106,9 @@ class TransferServiceTest {
         assertThat(alice.getBalance()).isEqualByComparingTo(expectedAliceBalance);
         assertThat(bob.getBalance()).isEqualByComparingTo(expectedBobBalance);
 
-        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        ArgumentCaptor<Transaction> saved = ArgumentCaptor.forClass(Transaction.class);
+        verify(transactionRepository, times(1)).save(saved.capture());
+        assertThat(saved.getValue().getFxRateId()).isEqualTo(7L);
     }
 
     @Test
@@ -99,6 +127,7 @@ class TransferServiceTest {
         assertThat(bob.getBalance()).isEqualByComparingTo(new BigDecimal("500.00"));
 
         verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(eventPublisher, never()).publishEvent(any(BalanceEvent.class));
     }
 
     @Test
@@ -107,7 +136,7 @@ class TransferServiceTest {
         Account bob = createAccount(bobId, "Bob", new BigDecimal("500.00"), "JPY");
 
         mockAccounts(alice, bob);
-        when(fxRateService.getRate("USD", "JPY")).thenThrow(new IllegalArgumentException("FX rate not found"));
+        when(fxRateService.getQuote(eq("USD"), eq("JPY"), any())).thenThrow(new IllegalArgumentException("FX rate not found"));
 
         TransferRequest request = new TransferRequest(aliceId, bobId, new BigDecimal("100"));
         TransferResponse response = transferService.transferMoney(request);
@@ -118,6 +147,177 @@ class TransferServiceTest {
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
+    @Test
+    void testInsufficientFundsRejectedBeforeLocking() {
+        Account alice = createAccount(aliceId, "Alice", new BigDecimal("50.00"), "USD");
+        Account bob = createAccount(bobId, "Bob", new BigDecimal("500.00"), "USD");
+
+        mockAccounts(alice, bob);
+
+        TransferResponse response = transfer(100, aliceId, bobId);
+
+        assertThat(response.getStatus()).isEqualTo(TransactionStatus.FAILED);
+        verify(accountRepository, never()).findByIdWithLock(any());
+    }
+
+    @Test
+    void testMissingFxRateRejectedBeforeLocking() {
+        Account alice = createAccount(aliceId, "Alice", new BigDecimal("1000.00"), "USD");
+        Account bob = createAccount(bobId, "Bob", new BigDecimal("500.00"), "JPY");
+
+        mockAccounts(alice, bob);
+        when(fxRateService.getQuote(eq("USD"), eq("JPY"), any())).thenThrow(new IllegalArgumentException("FX rate not found"));
+
+        TransferResponse response = transfer(100, aliceId, bobId);
+
+        assertThat(response.getStatus()).isEqualTo(TransactionStatus.FAILED);
+        verify(accountRepository, never()).findByIdWithLock(any());
+    }
+
+    @Test
+    void testSameAccountRejectedBeforeAnyRead() {
+        assertThatThrownBy(() -> transfer(100, aliceId, aliceId))
+                .isInstanceOf(IllegalStateException.class);
+
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void testBalanceRecheckedUnderLock() {
+        Account alice = createAccount(aliceId, "Alice", new BigDecimal("1000.00"), "USD");
+        Account bob = createAccount(bobId, "Bob", new BigDecimal("500.00"), "USD");
+        // Snapshot still shows the old balance, but a concurrent transfer drained the account before the lock
+        Account drainedAlice = createAccount(aliceId, "Alice", new BigDecimal("10.00"), "USD");
+
+        when(accountRepository.findBalanceViewsByIdIn(any())).thenReturn(List.of(balanceView(alice), balanceView(bob)));
+        when(accountRepository.findByIdWithLock(aliceId)).thenReturn(Optional.of(drainedAlice));
+        when(accountRepository.findByIdWithLock(bobId)).thenReturn(Optional.of(bob));
+
+        TransferResponse response = transfer(100, aliceId, bobId);
+
+        assertThat(response.getStatus()).isEqualTo(TransactionStatus.FAILED);
+        assertThat(response.getMessage()).isEqualTo("Insufficient funds");
+        verify(transactionRepository, never()).save(any(Transaction.class));
+    }
+
+    @Test
+    void testRuleViolationRejectedBeforeAnyRead() {
+        when(transferRuleEngine.evaluate(eq(aliceId), eq(bobId), any()))
+                .thenReturn(Optional.of("Transfer limit exceeded: maximum transfers per minute"));
+
+        TransferResponse response = transfer(100, aliceId, bobId);
+
+        assertThat(response.getStatus()).isEqualTo(TransactionStatus.FAILED);
+        assertThat(response.getMessage()).isEqualTo("Transfer limit exceeded: maximum transfers per minute");
+        verifyNoInteractions(accountRepository);
+        verify(transferRuleEngine, never()).record(any(), any(), any());
+    }
+
+    @Test
+    void testSettleBatchWritesNetBalancesOnce() {
+        Account alice = createAccount(aliceId, "Alice", new BigDecimal("1000.00"), "USD");
+        Account bob = createAccount(bobId, "Bob", new BigDecimal("500.00"), "USD");
+
+        mockAccounts(alice, bob);
+
+        List<SettlementOutcome> outcomes = transferService.settleBatch(List.of(
+                new TransferRequest(aliceId, bobId, new BigDecimal("100.00")),
+                new TransferRequest(bobId, aliceId, new BigDecimal("40.00"))));
+
+        assertThat(outcomes).extracting(o -> o.getResponse().getStatus())
+                .containsExactly(TransactionStatus.SUCCESS, TransactionStatus.SUCCESS);
+        // 1000 - 101 + 40 and 500 + 100 - 40.40
+        assertThat(alice.getBalance()).isEqualByComparingTo(new BigDecimal("939.00"));
+        assertThat(bob.getBalance()).isEqualByComparingTo(new BigDecimal("559.60"));
+
+        verify(accountRepository, times(1)).findByIdWithLock(aliceId);
+        verify(accountRepository, times(1)).findByIdWithLock(bobId);
+        verify(accountRepository, times(1)).saveAll(argThat((List<Account> accounts) -> accounts.size() == 2));
+        verify(transactionRepository, times(1)).saveAll(argThat((List<Transaction> transactions) -> transactions.size() == 2));
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(eventPublisher, times(2)).publishEvent(any(BalanceEvent.class));
+    }
+
+    @Test
+    void testSettleBatchAppliesTransfersInOrder() {
+        Account alice = createAccount(aliceId, "Alice", new BigDecimal("50.00"), "USD");
+        Account bob = createAccount(bobId, "Bob", new BigDecimal("500.00"), "USD");
+
+        mockAccounts(alice, bob);
+
+        // Alice can only afford the second transfer after receiving the first
+        List<SettlementOutcome> outcomes = transferService.settleBatch(List.of(
+                new TransferRequest(aliceId, bobId, new BigDecimal("100.00")),
+                new TransferRequest(bobId, aliceId, new BigDecimal("200.00")),
+                new TransferRequest(aliceId, bobId, new BigDecimal("100.00")),
+                new TransferRequest(aliceId, aliceId, new BigDecimal("1.00"))));
+
+        assertThat(outcomes.get(0).getResponse().getMessage()).isEqualTo("Insufficient funds");
+        assertThat(outcomes.get(1).getResponse().getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        assertThat(outcomes.get(2).getResponse().getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        assertThat(outcomes.get(3).getError()).isInstanceOf(IllegalStateException.class);
+        // 50 + 200 - 101 and 500 - 202 + 100
+        assertThat(alice.getBalance()).isEqualByComparingTo(new BigDecimal("149.00"));
+        assertThat(bob.getBalance()).isEqualByComparingTo(new BigDecimal("398.00"));
+    }
+
+    @Test
+    void testPreValidationCanBeDisabled() {
+        Account alice = createAccount(aliceId, "Alice", new BigDecimal("1000.00"), "USD");
+        Account bob = createAccount(bobId, "Bob", new BigDecimal("500.00"), "USD");
+
+        mockAccounts(alice, bob);
+        transferService = new TransferService(accountRepository, transactionRepository, fxRateService, feeConfigService,
+                transferRuleEngine, lockContentionMonitor, eventPublisher, false);
+
+        assertThat(transfer(2000, aliceId, bobId).getMessage()).isEqualTo("Insufficient funds");
+        assertThat(transfer(100, aliceId, bobId).getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        verify(accountRepository, never()).findBalanceViewsByIdIn(any());
+    }
+
+    @Test
+    void testSettleBatchAppliesVelocityRulesWithinBatch() {
+        Account alice = createAccount(aliceId, "Alice", new BigDecimal("1000.00"), "USD");
+        Account bob = createAccount(bobId, "Bob", new BigDecimal("500.00"), "USD");
+
+        mockAccounts(alice, bob);
+        transferService = new TransferService(accountRepository, transactionRepository, fxRateService, feeConfigService,
+                ruleEngine(RuleLimits.builder().maxTransfersPerMinute(1).build()), lockContentionMonitor, eventPublisher, true);
+
+        List<SettlementOutcome> outcomes = transferService.settleBatch(List.of(
+                new TransferRequest(aliceId, bobId, new BigDecimal("10.00")),
+                new TransferRequest(aliceId, bobId, new BigDecimal("10.00"))));
+
+        assertThat(outcomes.get(0).getResponse().getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        assertThat(outcomes.get(1).getResponse().getStatus()).isEqualTo(TransactionStatus.FAILED);
+        assertThat(outcomes.get(1).getResponse().getMessage()).isEqualTo("Transfer limit exceeded: maximum transfers per minute");
+        assertThat(alice.getBalance()).isEqualByComparingTo(new BigDecimal("989.90"));
+    }
+
+    @Test
+    void testSettleBatchFailsInvalidRequestAlone() {
+        Account alice = createAccount(aliceId, "Alice", new BigDecimal("1000.00"), "USD");
+        Account bob = createAccount(bobId, "Bob", new BigDecimal("500.00"), "USD");
+
+        mockAccounts(alice, bob);
+
+        List<SettlementOutcome> outcomes = transferService.settleBatch(List.of(
+                new TransferRequest(aliceId, bobId, null),
+                new TransferRequest(null, bobId, new BigDecimal("10.00")),
+                new TransferRequest(aliceId, bobId, new BigDecimal("10.00"))));
+
+        assertThat(outcomes.get(0).getError()).isInstanceOf(IllegalArgumentException.class);
+        assertThat(outcomes.get(1).getError()).isInstanceOf(IllegalArgumentException.class);
+        assertThat(outcomes.get(2).getResponse().getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+    }
+
+    private TransferRuleEngine ruleEngine(RuleLimits limits) {
+        TransferRuleProperties properties = new TransferRuleProperties();
+        properties.setLimits(limits);
+        return new TransferRuleEngine(new AccountActivityTracker(properties), properties,
+                new StaticListableBeanFactory().getBeanProvider(TransferRule.class));
+    }
+
     private TransferResponse transfer(double amount, UUID from, UUID to) {
         return transferService.transferMoney(new TransferRequest(from, to, BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP)));
     }
@@ -129,5 +329,30 @@ class TransferServiceTest {
     private void mockAccounts(Account alice, Account bob) {
         when(accountRepository.findByIdWithLock(alice.getId())).thenReturn(Optional.of(alice));
         when(accountRepository.findByIdWithLock(bob.getId())).thenReturn(Optional.of(bob));
+        when(accountRepository.findBalanceViewsByIdIn(any())).thenReturn(List.of(balanceView(alice), balanceView(bob)));
+    }
+
+    private AccountBalanceView balanceView(Account account) {
+        return new AccountBalanceView() {
+            @Override
+            public UUID getId() {
+                return account.getId();
+            }
+
+            @Override
+            public BigDecimal getBalance() {
+                return account.getBalance();
+            }
+
+            @Override
+            public String getCurrency() {
+                return account.getCurrency();
+            }
+
+            @Override
+            public long getBalanceVersion() {
+                return account.getBalanceVersion();
+            }
+        };
     }
 }